@@ -1,23 +1,34 @@
 package me.Anesthyl.enchants.Commands;
 
 import me.Anesthyl.enchants.backpack.BackpackManager;
+import me.Anesthyl.enchants.backpack.BackpackRouter;
+import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 /**
- * Command: /backpack
+ * Command: /backpack [autopickup | filter <material|clear>]
  *
- * Gives the player a backpack item (OP only)
+ * - No arguments: gives the player a backpack item (OP only)
+ * - autopickup: toggles auto-pickup on the held backpack
+ * - filter: toggles a material in the held backpack's pickup filter
  */
-public class BackpackCommand implements CommandExecutor {
+public class BackpackCommand implements CommandExecutor, TabCompleter {
 
     private final BackpackManager backpackManager;
+    private final BackpackRouter backpackRouter;
 
-    public BackpackCommand(BackpackManager backpackManager) {
+    public BackpackCommand(BackpackManager backpackManager, BackpackRouter backpackRouter) {
         this.backpackManager = backpackManager;
+        this.backpackRouter = backpackRouter;
     }
 
     @Override
@@ -27,15 +38,89 @@ public class BackpackCommand implements CommandExecutor {
             return true;
         }
 
-        if (!player.isOp()) {
-            player.sendMessage("§cYou must be an operator to use this command.");
+        if (args.length == 0) {
+            if (!player.isOp()) {
+                player.sendMessage("§cYou must be an operator to use this command.");
+                return true;
+            }
+
+            ItemStack backpack = backpackManager.createBackpack();
+            backpackManager.ensureBackpackId(backpack);
+            player.getInventory().addItem(backpack);
+            player.sendMessage("§aYou received a backpack!");
+            return true;
+        }
+
+        ItemStack held = player.getInventory().getItemInMainHand();
+        if (!backpackManager.isBackpack(held)) {
+            player.sendMessage("§cHold a backpack in your main hand.");
             return true;
         }
 
-        ItemStack backpack = backpackManager.createBackpack();
-        player.getInventory().addItem(backpack);
-        player.sendMessage("§aYou received a backpack!");
+        // Settings are about to change, so save pending pickups and rebuild routing later
+        backpackRouter.invalidate(player);
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "autopickup" -> {
+                boolean enabled = !backpackManager.isAutoPickup(held);
+                backpackManager.setAutoPickup(held, enabled);
+                player.sendMessage("§7Auto-pickup " + (enabled ? "§aenabled" : "§cdisabled") + "§7.");
+            }
+            case "filter" -> {
+                if (args.length < 2) {
+                    player.sendMessage("§cUsage: /backpack filter <material|clear>");
+                    return true;
+                }
+
+                if (args[1].equalsIgnoreCase("clear")) {
+                    backpackManager.clearFilter(held);
+                    player.sendMessage("§7Filter cleared. The backpack now accepts everything.");
+                    return true;
+                }
+
+                Material material = Material.matchMaterial(args[1]);
+                if (material == null || !material.isItem() || material.isAir()) {
+                    player.sendMessage("§cUnknown item: " + args[1]);
+                    return true;
+                }
+
+                boolean added = backpackManager.toggleFilter(held, material);
+                player.sendMessage(added
+                        ? "§aAdded §e" + material.name().toLowerCase(Locale.ROOT) + " §ato the filter."
+                        : "§cRemoved §e" + material.name().toLowerCase(Locale.ROOT) + " §cfrom the filter.");
+            }
+            default -> player.sendMessage("§cUsage: /backpack [autopickup | filter <material|clear>]");
+        }
 
         return true;
     }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1) {
+            String partial = args[0].toLowerCase(Locale.ROOT);
+            for (String option : List.of("autopickup", "filter")) {
+                if (option.startsWith(partial)) completions.add(option);
+            }
+            return completions;
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("filter")) {
+            String partial = args[1].toLowerCase(Locale.ROOT);
+            if ("clear".startsWith(partial)) completions.add("clear");
+
+            // Suggest only once something has been typed to keep the list short
+            if (partial.isEmpty()) return completions;
+
+            for (Material material : Material.values()) {
+                if (material.isLegacy() || !material.isItem() || material.isAir()) continue;
+                String name = material.name().toLowerCase(Locale.ROOT);
+                if (name.startsWith(partial)) completions.add(name);
+            }
+        }
+
+        return completions;
+    }
 }
@@ -11,10 +11,9 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
- * Command to delete a personal warp.
+ * Command to delete a personal warp, or a public warp with the "public" flag.
  */
 public class DelWarpCommand implements CommandExecutor, TabCompleter {
     private final WarpManager warpManager;
@@ -30,23 +29,39 @@ public class DelWarpCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        if (args.length != 1) {
+        boolean isPublic = args.length == 2 && args[1].equalsIgnoreCase("public");
+        if (args.length != 1 && !isPublic) {
             player.sendMessage(
-                Component.text("Usage: /delwarp <name>", NamedTextColor.RED)
+                Component.text("Usage: /delwarp <name> [public]", NamedTextColor.RED)
+            );
+            return true;
+        }
+
+        if (isPublic && !player.hasPermission(SetWarpCommand.PUBLIC_PERMISSION)) {
+            player.sendMessage(
+                Component.text("You don't have permission to manage public warps.", NamedTextColor.RED)
             );
             return true;
         }
 
         String warpName = args[0];
-        boolean success = warpManager.deleteWarp(player.getUniqueId(), warpName);
+        WarpManager.DeleteResult result = isPublic
+                ? warpManager.deletePublicWarp(warpName)
+                : warpManager.deleteWarp(player.getUniqueId(), warpName);
 
-        if (success) {
+        if (result == WarpManager.DeleteResult.DELETED) {
             player.sendMessage(
                 Component.text("✦ ", NamedTextColor.AQUA)
                     .append(Component.text("Warp ", NamedTextColor.GRAY))
                     .append(Component.text(warpName, NamedTextColor.GOLD))
                     .append(Component.text(" deleted!", NamedTextColor.GRAY))
             );
+        } else if (result == WarpManager.DeleteResult.QUEUED) {
+            player.sendMessage(
+                Component.text("Warps are still loading - ", NamedTextColor.YELLOW)
+                    .append(Component.text(warpName, NamedTextColor.GOLD))
+                    .append(Component.text(" will be deleted if it exists.", NamedTextColor.YELLOW))
+            );
         } else {
             player.sendMessage(
                 Component.text("Warp '", NamedTextColor.RED)
@@ -64,16 +79,15 @@ public class DelWarpCommand implements CommandExecutor, TabCompleter {
             return new ArrayList<>();
         }
 
-        if (args.length == 1) {
-            // Tab complete with the player's warp names
-            Set<String> warps = warpManager.getPlayerWarps(player.getUniqueId());
-            List<String> completions = new ArrayList<>(warps);
+        boolean canManagePublic = player.hasPermission(SetWarpCommand.PUBLIC_PERMISSION);
 
-            // Filter by what the player has typed
-            String partial = args[0].toLowerCase();
-            completions.removeIf(warp -> !warp.toLowerCase().startsWith(partial));
+        if (args.length == 1) {
+            // Tab complete with the player's warp names (and public ones if they can delete them)
+            return warpManager.completeWarps(player.getUniqueId(), args[0], canManagePublic);
+        }
 
-            return completions;
+        if (args.length == 2 && canManagePublic && "public".startsWith(args[1].toLowerCase())) {
+            return List.of("public");
         }
 
         return new ArrayList<>();
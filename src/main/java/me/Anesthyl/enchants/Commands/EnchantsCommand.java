@@ -0,0 +1,72 @@
+package me.Anesthyl.enchants.Commands;
+
+import me.Anesthyl.enchants.settings.SettingsManager;
+import me.Anesthyl.enchants.spell.SpellRegistry;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command: /enchants reload
+ *
+ * Re-reads config.yml and spells.yml without restarting the server.
+ * New settings apply from the next tick; bad values are listed to the sender.
+ */
+public class EnchantsCommand implements CommandExecutor, TabCompleter {
+
+    public static final String RELOAD_PERMISSION = "enchants.reload";
+
+    private final SettingsManager settings;
+    private final SpellRegistry spellRegistry;
+
+    public EnchantsCommand(SettingsManager settings, SpellRegistry spellRegistry) {
+        this.settings = settings;
+        this.spellRegistry = spellRegistry;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length != 1 || !args[0].equalsIgnoreCase("reload")) {
+            sender.sendMessage("§cUsage: /" + label + " reload");
+            return true;
+        }
+
+        if (!sender.hasPermission(RELOAD_PERMISSION)) {
+            sender.sendMessage("§cYou don't have permission to reload the plugin.");
+            return true;
+        }
+
+        List<String> configProblems = settings.reload();
+        List<String> spellProblems = spellRegistry.reload();
+
+        if (configProblems.isEmpty() && spellProblems.isEmpty()) {
+            sender.sendMessage("§aReloaded config.yml and spells.yml.");
+        } else {
+            sendProblems(sender, "config.yml", configProblems);
+            sendProblems(sender, "spells.yml", spellProblems);
+        }
+        return true;
+    }
+
+    private void sendProblems(CommandSender sender, String file, List<String> problems) {
+        if (problems.isEmpty()) return;
+
+        sender.sendMessage("§eReloaded with " + problems.size() + " problem(s) in " + file + ":");
+        for (String problem : problems) {
+            sender.sendMessage("§7- " + problem);
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1 && "reload".startsWith(args[0].toLowerCase()) && sender.hasPermission(RELOAD_PERMISSION)) {
+            completions.add("reload");
+        }
+        return completions;
+    }
+}
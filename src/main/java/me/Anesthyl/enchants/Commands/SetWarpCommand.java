@@ -14,9 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Command to set a personal warp at the player's current location.
+ * Command to set a personal warp at the player's current location,
+ * or a public warp with the "public" flag.
  */
 public class SetWarpCommand implements CommandExecutor, TabCompleter {
+    public static final String PUBLIC_PERMISSION = "enchants.warp.public";
+
     private final WarpManager warpManager;
 
     public SetWarpCommand(WarpManager warpManager) {
@@ -30,9 +33,17 @@ public class SetWarpCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        if (args.length != 1) {
+        boolean isPublic = args.length == 2 && args[1].equalsIgnoreCase("public");
+        if (args.length != 1 && !isPublic) {
+            player.sendMessage(
+                Component.text("Usage: /setwarp <name> [public]", NamedTextColor.RED)
+            );
+            return true;
+        }
+
+        if (isPublic && !player.hasPermission(PUBLIC_PERMISSION)) {
             player.sendMessage(
-                Component.text("Usage: /setwarp <name>", NamedTextColor.RED)
+                Component.text("You don't have permission to manage public warps.", NamedTextColor.RED)
             );
             return true;
         }
@@ -48,11 +59,15 @@ public class SetWarpCommand implements CommandExecutor, TabCompleter {
         }
 
         Location location = player.getLocation();
-        warpManager.setWarp(player.getUniqueId(), warpName, location);
+        if (isPublic) {
+            warpManager.setPublicWarp(warpName, location);
+        } else {
+            warpManager.setWarp(player.getUniqueId(), warpName, location);
+        }
 
         player.sendMessage(
             Component.text("✦ ", NamedTextColor.AQUA)
-                .append(Component.text("Warp ", NamedTextColor.GRAY))
+                .append(Component.text(isPublic ? "Public warp " : "Warp ", NamedTextColor.GRAY))
                 .append(Component.text(warpName, NamedTextColor.GOLD))
                 .append(Component.text(" set at your current location!", NamedTextColor.GRAY))
         );
@@ -63,6 +78,10 @@ public class SetWarpCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         // No tab completion for warp names (they're custom)
+        if (args.length == 2 && sender.hasPermission(PUBLIC_PERMISSION)
+                && "public".startsWith(args[1].toLowerCase())) {
+            return List.of("public");
+        }
         return new ArrayList<>();
     }
 }
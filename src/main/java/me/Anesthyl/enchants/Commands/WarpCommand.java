@@ -1,5 +1,7 @@
 package me.Anesthyl.enchants.Commands;
 
+import me.Anesthyl.enchants.teleport.TeleportService;
+import me.Anesthyl.enchants.warp.Warp;
 import me.Anesthyl.enchants.warp.WarpManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -13,16 +15,17 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
- * Command to teleport to a personal warp.
+ * Command to teleport to a personal or public warp.
  */
 public class WarpCommand implements CommandExecutor, TabCompleter {
     private final WarpManager warpManager;
+    private final TeleportService teleportService;
 
-    public WarpCommand(WarpManager warpManager) {
+    public WarpCommand(WarpManager warpManager, TeleportService teleportService) {
         this.warpManager = warpManager;
+        this.teleportService = teleportService;
     }
 
     @Override
@@ -33,8 +36,21 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 0) {
-            // List all warps for the player
-            Set<String> warps = warpManager.getPlayerWarps(player.getUniqueId());
+            // List all warps for the player, then the public ones
+            List<String> warps = warpManager.getPlayerWarps(player.getUniqueId());
+            List<String> publicWarps = warpManager.getPublicWarps();
+
+            if (!publicWarps.isEmpty()) {
+                player.sendMessage(
+                    Component.text("═══ Public Warps ═══", NamedTextColor.AQUA)
+                );
+                for (String warp : publicWarps) {
+                    player.sendMessage(
+                        Component.text("  • ", NamedTextColor.GRAY)
+                            .append(Component.text(warp, NamedTextColor.YELLOW))
+                    );
+                }
+            }
 
             if (warps.isEmpty()) {
                 player.sendMessage(
@@ -62,9 +78,14 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
         }
 
         String warpName = args[0];
-        Location warpLocation = warpManager.getWarp(player.getUniqueId(), warpName);
 
-        if (warpLocation == null) {
+        // Personal warps shadow public ones with the same name
+        Warp warp = warpManager.getWarp(player.getUniqueId(), warpName);
+        if (warp == null) {
+            warp = warpManager.getPublicWarp(warpName);
+        }
+
+        if (warp == null) {
             player.sendMessage(
                 Component.text("Warp '", NamedTextColor.RED)
                     .append(Component.text(warpName, NamedTextColor.GOLD))
@@ -73,17 +94,58 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        // Teleport the player
-        player.teleport(warpLocation);
-        player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+        Location warpLocation = warpManager.resolve(warp);
+        if (warpLocation == null) {
+            player.sendMessage(
+                Component.text("The world '", NamedTextColor.RED)
+                    .append(Component.text(warp.worldName(), NamedTextColor.GOLD))
+                    .append(Component.text("' for this warp is not loaded.", NamedTextColor.RED))
+            );
+            return true;
+        }
+
+        int cooldown = teleportService.getCooldownSeconds(player);
+        if (cooldown > 0) {
+            player.sendMessage(
+                Component.text("You can warp again in ", NamedTextColor.RED)
+                    .append(Component.text(cooldown + "s", NamedTextColor.GOLD))
+                    .append(Component.text(".", NamedTextColor.RED))
+            );
+            return true;
+        }
 
         player.sendMessage(
-            Component.text("✦ ", NamedTextColor.AQUA)
-                .append(Component.text("Warped to ", NamedTextColor.GRAY))
+            Component.text("Warping to ", NamedTextColor.GRAY)
                 .append(Component.text(warpName, NamedTextColor.GOLD))
-                .append(Component.text("!", NamedTextColor.GRAY))
+                .append(Component.text(" in " + (teleportService.getWarmupTicks() / 20) + " seconds - don't move!", NamedTextColor.GRAY))
         );
 
+        // Destination chunks load in the background during the warmup
+        teleportService.warp(player, warpLocation, result -> {
+            switch (result) {
+                case SUCCESS -> {
+                    player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+                    player.sendMessage(
+                        Component.text("✦ ", NamedTextColor.AQUA)
+                            .append(Component.text("Warped to ", NamedTextColor.GRAY))
+                            .append(Component.text(warpName, NamedTextColor.GOLD))
+                            .append(Component.text("!", NamedTextColor.GRAY))
+                    );
+                }
+                case MOVED -> player.sendMessage(
+                    Component.text("Warp cancelled - you moved.", NamedTextColor.RED)
+                );
+                case NO_SAFE_SPOT -> player.sendMessage(
+                    Component.text("Warp '", NamedTextColor.RED)
+                        .append(Component.text(warpName, NamedTextColor.GOLD))
+                        .append(Component.text("' is obstructed - no safe place to land.", NamedTextColor.RED))
+                );
+                case FAILED -> player.sendMessage(
+                    Component.text("Warp failed. Try again.", NamedTextColor.RED)
+                );
+            }
+        });
+
         return true;
     }
 
@@ -94,15 +156,8 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            // Tab complete with the player's warp names
-            Set<String> warps = warpManager.getPlayerWarps(player.getUniqueId());
-            List<String> completions = new ArrayList<>(warps);
-
-            // Filter by what the player has typed
-            String partial = args[0].toLowerCase();
-            completions.removeIf(warp -> !warp.toLowerCase().startsWith(partial));
-
-            return completions;
+            // Tab complete with the player's warp names, then public warps
+            return warpManager.completeWarps(player.getUniqueId(), args[0], true);
         }
 
         return new ArrayList<>();
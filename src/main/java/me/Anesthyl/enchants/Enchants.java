@@ -3,6 +3,7 @@ package me.Anesthyl.enchants;
 import me.Anesthyl.enchants.Commands.AddCustomEnchantCommand;
 import me.Anesthyl.enchants.Commands.BackpackCommand;
 import me.Anesthyl.enchants.Commands.DelWarpCommand;
+import me.Anesthyl.enchants.Commands.EnchantsCommand;
 import me.Anesthyl.enchants.Commands.GuidebookCommand;
 import me.Anesthyl.enchants.Commands.HealCommand;
 import me.Anesthyl.enchants.Commands.LevelCommand;
@@ -12,6 +13,7 @@ import me.Anesthyl.enchants.Commands.WarpCommand;
 import me.Anesthyl.enchants.achievements.AchievementManager;
 import me.Anesthyl.enchants.backpack.BackpackListener;
 import me.Anesthyl.enchants.backpack.BackpackManager;
+import me.Anesthyl.enchants.backpack.BackpackRouter;
 import me.Anesthyl.enchants.enchantsystem.*;
 import me.Anesthyl.enchants.guidebook.GuidebookListener;
 import me.Anesthyl.enchants.level.LevelManager;
@@ -23,16 +25,24 @@ import me.Anesthyl.enchants.listeners.EnchantTableListener;
 import me.Anesthyl.enchants.listeners.GrindstoneListener;
 import me.Anesthyl.enchants.listeners.ManaBrewingListener;
 import me.Anesthyl.enchants.listeners.ManaPotionListener;
+import me.Anesthyl.enchants.listeners.MovementDispatcher;
 import me.Anesthyl.enchants.listeners.RecipeDiscoveryListener;
 import me.Anesthyl.enchants.listeners.ShinyListener;
 import me.Anesthyl.enchants.listeners.SkillListener;
+import me.Anesthyl.enchants.settings.SettingsManager;
 import me.Anesthyl.enchants.spell.ManaManager;
 import me.Anesthyl.enchants.spell.SpellCastListener;
 import me.Anesthyl.enchants.spell.SpellGUI;
+import me.Anesthyl.enchants.spell.SpellCooldowns;
 import me.Anesthyl.enchants.spell.SpellManager;
+import me.Anesthyl.enchants.spell.SpellRegistry;
 import me.Anesthyl.enchants.spell.SpellRecipeListener;
 import me.Anesthyl.enchants.spell.SpellWorkstationListener;
+import me.Anesthyl.enchants.spell.TargetingService;
 import me.Anesthyl.enchants.stat.StatManager;
+import me.Anesthyl.enchants.teleport.TeleportService;
+import me.Anesthyl.enchants.util.EffectEmitter;
+import me.Anesthyl.enchants.util.EntitySpatialIndex;
 import me.Anesthyl.enchants.warp.WarpManager;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -54,43 +64,67 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public class Enchants extends JavaPlugin implements Listener {
 
+    private SettingsManager settings;
     private EnchantManager enchantManager;
+    private ProcEngine procEngine;
     private StatManager statManager;
     private LevelManager levelManager;
     private BackpackManager backpackManager;
+    private BackpackRouter backpackRouter;
     private AchievementManager achievementManager;
     private SpellManager spellManager;
+    private SpellRegistry spellRegistry;
+    private SpellCooldowns spellCooldowns;
+    private TargetingService targetingService;
     private SpellGUI spellGUI;
     private ManaManager manaManager;
     private WarpManager warpManager;
+    private TeleportService teleportService;
+    private EntitySpatialIndex entityIndex;
+    private EffectEmitter effectEmitter;
+    private MovementDispatcher movementDispatcher;
+    private DonaldJumpListener donaldJumpListener;
 
     @Override
     public void onEnable() {
         getLogger().info("Enchants Plugin Enabled");
 
+        // 0️⃣ Load config.yml into an immutable settings snapshot
+        settings = new SettingsManager(this);
+
         // 1️⃣ Initialize the EnchantManager
-        enchantManager = new EnchantManager();
+        enchantManager = new EnchantManager(this);
+        procEngine = new ProcEngine(settings);
 
         // 2️⃣ Initialize the StatManager
         statManager = new StatManager(this, enchantManager);
 
         // 3️⃣ Initialize the LevelManager
-        levelManager = new LevelManager(this);
+        levelManager = new LevelManager(this, settings);
 
         // 4️⃣ Initialize the BackpackManager
         backpackManager = new BackpackManager(this);
+        backpackRouter = new BackpackRouter(this, backpackManager, settings);
 
         // 5️⃣ Initialize the AchievementManager
         achievementManager = new AchievementManager(this, enchantManager);
 
         // 6️⃣ Initialize the Spell System
         spellManager = new SpellManager(this);
-        manaManager = new ManaManager(this);
+        spellRegistry = new SpellRegistry(this);
+        spellCooldowns = new SpellCooldowns();
+        targetingService = new TargetingService();
+        manaManager = new ManaManager(this, settings);
         spellGUI = new SpellGUI(spellManager, levelManager);
         new SpellRecipeListener(this, spellManager);
 
         // 6.5️⃣ Initialize the Warp System
         warpManager = new WarpManager(this);
+        teleportService = new TeleportService(this, settings);
+
+        // 6.6️⃣ Shared entity lookups and effect budgets for enchants and spells
+        entityIndex = new EntitySpatialIndex();
+        effectEmitter = new EffectEmitter(entityIndex, settings);
 
         // 7️⃣ Register all custom enchants
         // Combat Enchants
@@ -112,7 +146,7 @@ public class Enchants extends JavaPlugin implements Listener {
 
         // 8️⃣ Register listeners (pass managers for XP and stats)
         getServer().getPluginManager().registerEvents(
-                new CombatListener(enchantManager, levelManager), this
+                new CombatListener(enchantManager, levelManager, statManager, procEngine), this
         );
         getServer().getPluginManager().registerEvents(
                 new EnchantTableListener(enchantManager), this
@@ -126,31 +160,37 @@ public class Enchants extends JavaPlugin implements Listener {
         getServer().getPluginManager().registerEvents(
                 new GrindstoneListener(enchantManager), this
         );
-        getServer().getPluginManager().registerEvents(
-                new me.Anesthyl.enchants.listeners.LavaWalkerListener(enchantManager), this
-        );
-        getServer().getPluginManager().registerEvents(
-                new DonaldJumpListener(enchantManager), this
-        );
+        // Movement: one PlayerMoveEvent handler fans out to Lava Walker, Donald Jump and Agility XP
+        donaldJumpListener = new DonaldJumpListener();
+        SkillListener skillListener = new SkillListener(levelManager, entityIndex);
+        movementDispatcher = new MovementDispatcher(enchantManager, donaldJumpListener, skillListener, teleportService);
+        getServer().getPluginManager().registerEvents(donaldJumpListener, this);
+        getServer().getPluginManager().registerEvents(skillListener, this);
+        getServer().getPluginManager().registerEvents(movementDispatcher, this);
         getServer().getPluginManager().registerEvents(
                 new ShinyListener(enchantManager), this
         );
         getServer().getPluginManager().registerEvents(
-                new BackpackListener(backpackManager), this
+                new BackpackListener(backpackManager, backpackRouter), this
         );
+        getServer().getPluginManager().registerEvents(backpackRouter, this);
+        getServer().getPluginManager().registerEvents(warpManager, this);
+        getServer().getPluginManager().registerEvents(teleportService, this);
+        getServer().getPluginManager().registerEvents(entityIndex, this);
+        getServer().getPluginManager().registerEvents(statManager, this);
         getServer().getPluginManager().registerEvents(
-                new SkillListener(levelManager), this
                 new SpellWorkstationListener(this, spellManager, spellGUI), this
         );
         getServer().getPluginManager().registerEvents(spellGUI, this);
         getServer().getPluginManager().registerEvents(
-                new SpellCastListener(this, spellManager, manaManager), this
+                new SpellCastListener(this, spellManager, manaManager, spellRegistry, spellCooldowns, teleportService,
+                        entityIndex, effectEmitter, targetingService), this
         );
         getServer().getPluginManager().registerEvents(
                 new RecipeDiscoveryListener(this), this
         );
         getServer().getPluginManager().registerEvents(
-                new ManaPotionListener(manaManager), this
+                new ManaPotionListener(manaManager, settings), this
         );
         getServer().getPluginManager().registerEvents(
                 new ManaBrewingListener(this), this
@@ -174,15 +214,18 @@ public class Enchants extends JavaPlugin implements Listener {
         getCommand("heal").setExecutor(
                 new HealCommand()
         );
-        getCommand("backpack").setExecutor(
-                new BackpackCommand(backpackManager)
-        );
+        BackpackCommand backpackCmd = new BackpackCommand(backpackManager, backpackRouter);
+        getCommand("backpack").setExecutor(backpackCmd);
+        getCommand("backpack").setTabCompleter(backpackCmd);
         getCommand("guidebook").setExecutor(
                 new GuidebookCommand(this)
         );
+        EnchantsCommand enchantsCmd = new EnchantsCommand(settings, spellRegistry);
+        getCommand("enchants").setExecutor(enchantsCmd);
+        getCommand("enchants").setTabCompleter(enchantsCmd);
 
         // Warp commands
-        WarpCommand warpCmd = new WarpCommand(warpManager);
+        WarpCommand warpCmd = new WarpCommand(warpManager, teleportService);
         getCommand("warp").setExecutor(warpCmd);
         getCommand("warp").setTabCompleter(warpCmd);
 
@@ -203,9 +246,28 @@ public class Enchants extends JavaPlugin implements Listener {
         if (manaManager != null) {
             manaManager.shutdown();
         }
+        // Save any auto-pickup items still pending write-back
+        if (backpackRouter != null) {
+            backpackRouter.shutdown();
+        }
+        // Flush warp snapshots and finish queued writes
+        if (warpManager != null) {
+            warpManager.shutdown();
+        }
+        // Take back Donald Jump flight so it doesn't outlive the plugin
+        if (donaldJumpListener != null) {
+            donaldJumpListener.shutdown();
+        }
         getLogger().info("Enchants Plugin Disabled");
     }
 
+    /**
+     * Getter for SettingsManager
+     */
+    public SettingsManager getSettings() {
+        return settings;
+    }
+
     /**
      * Getter for EnchantManager
      */
@@ -227,6 +289,13 @@ public class Enchants extends JavaPlugin implements Listener {
         return levelManager;
     }
 
+    /**
+     * Getter for BackpackRouter
+     */
+    public BackpackRouter getBackpackRouter() {
+        return backpackRouter;
+    }
+
     /**
      * Getter for AchievementManager
      */
@@ -241,6 +310,20 @@ public class Enchants extends JavaPlugin implements Listener {
         return spellManager;
     }
 
+    /**
+     * Getter for EntitySpatialIndex
+     */
+    public EntitySpatialIndex getEntityIndex() {
+        return entityIndex;
+    }
+
+    /**
+     * Getter for EffectEmitter
+     */
+    public EffectEmitter getEffectEmitter() {
+        return effectEmitter;
+    }
+
     // ==============================
     // Player Join/Quit Event Hooks
     // ==============================
@@ -265,5 +348,13 @@ public class Enchants extends JavaPlugin implements Listener {
         levelManager.removePlayer(player);
         // Clean up mana data
         manaManager.removePlayer(player);
+        // Clean up spell cooldowns
+        spellCooldowns.removePlayer(player);
+        // Clean up memoized spell targets
+        targetingService.removePlayer(player);
+        // Clean up enchant proc cooldowns
+        procEngine.removePlayer(player);
+        // Clean up movement snapshots and air jumps
+        movementDispatcher.removePlayer(player);
     }
 }
\ No newline at end of file
@@ -21,10 +21,12 @@ import java.util.UUID;
 public class BackpackListener implements Listener {
 
     private final BackpackManager backpackManager;
+    private final BackpackRouter backpackRouter;
     private final Map<UUID, ItemStack> openBackpacks = new HashMap<>();
 
-    public BackpackListener(BackpackManager backpackManager) {
+    public BackpackListener(BackpackManager backpackManager, BackpackRouter backpackRouter) {
         this.backpackManager = backpackManager;
+        this.backpackRouter = backpackRouter;
     }
 
     /**
@@ -44,6 +46,14 @@ public class BackpackListener implements Listener {
 
         event.setCancelled(true);
 
+        // Save pending auto-pickup items and pause routing while the GUI is open
+        backpackRouter.suspend(player);
+
+        // Auto-pickup backpacks from before ids existed get one here, so routing can use them
+        if (backpackManager.isAutoPickup(item)) {
+            backpackManager.ensureBackpackId(item);
+        }
+
         // Load backpack contents
         ItemStack[] contents = backpackManager.loadInventory(item);
 
@@ -77,6 +87,7 @@ public class BackpackListener implements Listener {
 
         // Cleanup
         openBackpacks.remove(playerId);
+        backpackRouter.resume(player);
     }
 
     /**
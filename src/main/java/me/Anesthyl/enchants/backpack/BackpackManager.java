@@ -1,5 +1,6 @@
 package me.Anesthyl.enchants.backpack;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -14,20 +15,35 @@ import org.bukkit.util.io.BukkitObjectOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Manages backpack creation, recipes, and data storage
  */
 public class BackpackManager {
 
+    public static final int BACKPACK_SIZE = 27;
+
     private final JavaPlugin plugin;
     private final NamespacedKey backpackKey;
+    private final NamespacedKey dataKey;
+    private final NamespacedKey idKey;
+    private final NamespacedKey autoPickupKey;
+    private final NamespacedKey filterKey;
 
     public BackpackManager(JavaPlugin plugin) {
         this.plugin = plugin;
         this.backpackKey = new NamespacedKey(plugin, "backpack");
+        this.dataKey = new NamespacedKey(plugin, "backpack_data");
+        this.idKey = new NamespacedKey(plugin, "backpack_id");
+        this.autoPickupKey = new NamespacedKey(plugin, "backpack_autopickup");
+        this.filterKey = new NamespacedKey(plugin, "backpack_filter");
         registerRecipe();
     }
 
@@ -64,10 +80,7 @@ public class BackpackManager {
     public boolean isBackpack(ItemStack item) {
         if (item == null || !item.hasItemMeta()) return false;
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) return false;
-
-        return meta.getPersistentDataContainer()
+        return item.getPersistentDataContainer()
                 .has(backpackKey, PersistentDataType.STRING);
     }
 
@@ -93,7 +106,7 @@ public class BackpackManager {
             String encoded = Base64.getEncoder().encodeToString(outputStream.toByteArray());
 
             meta.getPersistentDataContainer().set(
-                new NamespacedKey(plugin, "backpack_data"),
+                dataKey,
                 PersistentDataType.STRING,
                 encoded
             );
@@ -108,21 +121,17 @@ public class BackpackManager {
      * Load inventory contents from backpack item
      */
     public ItemStack[] loadInventory(ItemStack backpack) {
-        if (!isBackpack(backpack)) return new ItemStack[27];
-
-        ItemMeta meta = backpack.getItemMeta();
-        if (meta == null) return new ItemStack[27];
+        if (!isBackpack(backpack)) return new ItemStack[BACKPACK_SIZE];
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        NamespacedKey dataKey = new NamespacedKey(plugin, "backpack_data");
+        PersistentDataContainerView pdc = backpack.getPersistentDataContainer();
 
         if (!pdc.has(dataKey, PersistentDataType.STRING)) {
-            return new ItemStack[27]; // Empty backpack
+            return new ItemStack[BACKPACK_SIZE]; // Empty backpack
         }
 
         try {
             String encoded = pdc.get(dataKey, PersistentDataType.STRING);
-            if (encoded == null) return new ItemStack[27];
+            if (encoded == null) return new ItemStack[BACKPACK_SIZE];
 
             byte[] decoded = Base64.getDecoder().decode(encoded);
             ByteArrayInputStream inputStream = new ByteArrayInputStream(decoded);
@@ -139,8 +148,163 @@ public class BackpackManager {
             return contents;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to load backpack contents: " + e.getMessage());
-            return new ItemStack[27];
+            return new ItemStack[BACKPACK_SIZE];
+        }
+    }
+
+    // ------------------------------
+    // Auto-Pickup & Filter
+    // ------------------------------
+
+    /**
+     * Check if auto-pickup is enabled on a backpack
+     */
+    public boolean isAutoPickup(ItemStack backpack) {
+        if (!isBackpack(backpack)) return false;
+
+        Byte flag = backpack.getPersistentDataContainer()
+                .get(autoPickupKey, PersistentDataType.BYTE);
+        return flag != null && flag == 1;
+    }
+
+    /**
+     * Enable or disable auto-pickup on a backpack.
+     * Enabling also assigns the backpack's id, which routing relies on.
+     */
+    public void setAutoPickup(ItemStack backpack, boolean enabled) {
+        if (!isBackpack(backpack)) return;
+
+        ItemMeta meta = backpack.getItemMeta();
+        if (meta == null) return;
+
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        pdc.set(autoPickupKey, PersistentDataType.BYTE, (byte) (enabled ? 1 : 0));
+        if (enabled && !pdc.has(idKey, PersistentDataType.STRING)) {
+            pdc.set(idKey, PersistentDataType.STRING, UUID.randomUUID().toString());
+        }
+        updateLore(meta);
+        backpack.setItemMeta(meta);
+    }
+
+    /**
+     * Get the materials a backpack accepts during auto-pickup.
+     * An empty filter accepts everything.
+     */
+    public Set<Material> getFilter(ItemStack backpack) {
+        Set<Material> filter = EnumSet.noneOf(Material.class);
+        if (!isBackpack(backpack)) return filter;
+
+        String encoded = backpack.getPersistentDataContainer()
+                .get(filterKey, PersistentDataType.STRING);
+        return decodeFilter(encoded);
+    }
+
+    /**
+     * Add or remove a material from a backpack's filter.
+     * Returns true if the material is now part of the filter.
+     */
+    public boolean toggleFilter(ItemStack backpack, Material material) {
+        if (!isBackpack(backpack)) return false;
+
+        ItemMeta meta = backpack.getItemMeta();
+        if (meta == null) return false;
+
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        Set<Material> filter = decodeFilter(pdc.get(filterKey, PersistentDataType.STRING));
+
+        boolean added = filter.add(material);
+        if (!added) {
+            filter.remove(material);
+        }
+
+        pdc.set(filterKey, PersistentDataType.STRING, encodeFilter(filter));
+        updateLore(meta);
+        backpack.setItemMeta(meta);
+        return added;
+    }
+
+    /**
+     * Remove every material from a backpack's filter
+     */
+    public void clearFilter(ItemStack backpack) {
+        if (!isBackpack(backpack)) return;
+
+        ItemMeta meta = backpack.getItemMeta();
+        if (meta == null) return;
+
+        meta.getPersistentDataContainer().remove(filterKey);
+        updateLore(meta);
+        backpack.setItemMeta(meta);
+    }
+
+    /**
+     * Get the unique id of a backpack, or null if it has none yet
+     */
+    public String getBackpackId(ItemStack backpack) {
+        if (!isBackpack(backpack)) return null;
+
+        return backpack.getPersistentDataContainer()
+                .get(idKey, PersistentDataType.STRING);
+    }
+
+    /**
+     * Get the unique id of a backpack, assigning one if it has none.
+     * Ids can't come from the recipe (every crafted backpack is a copy of
+     * the same result), so they are assigned when a backpack is given,
+     * opened or switched to auto-pickup - never on the routing read path.
+     */
+    public String ensureBackpackId(ItemStack backpack) {
+        String id = getBackpackId(backpack);
+        if (id != null || !isBackpack(backpack)) return id;
+
+        ItemMeta meta = backpack.getItemMeta();
+        if (meta == null) return null;
+
+        id = UUID.randomUUID().toString();
+        meta.getPersistentDataContainer().set(idKey, PersistentDataType.STRING, id);
+        backpack.setItemMeta(meta);
+        return id;
+    }
+
+    private Set<Material> decodeFilter(String encoded) {
+        Set<Material> filter = EnumSet.noneOf(Material.class);
+        if (encoded == null || encoded.isEmpty()) return filter;
+
+        for (String name : encoded.split(",")) {
+            Material material = Material.matchMaterial(name);
+            if (material != null) {
+                filter.add(material);
+            }
+        }
+        return filter;
+    }
+
+    private String encodeFilter(Set<Material> filter) {
+        StringBuilder sb = new StringBuilder();
+        for (Material material : filter) {
+            if (sb.length() > 0) sb.append(",");
+            sb.append(material.name());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Rebuild backpack lore to show auto-pickup state and filter size
+     */
+    private void updateLore(ItemMeta meta) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        Byte flag = pdc.get(autoPickupKey, PersistentDataType.BYTE);
+        boolean autoPickup = flag != null && flag == 1;
+        Set<Material> filter = decodeFilter(pdc.get(filterKey, PersistentDataType.STRING));
+
+        List<String> lore = new ArrayList<>();
+        lore.add("§7Right-click to open");
+        lore.add("§727 slot storage");
+        lore.add("§7Auto-pickup: " + (autoPickup ? "§aON" : "§cOFF"));
+        if (!filter.isEmpty()) {
+            lore.add("§7Filter: §e" + filter.size() + " item" + (filter.size() == 1 ? "" : "s"));
         }
+        meta.setLore(lore);
     }
 
     /**
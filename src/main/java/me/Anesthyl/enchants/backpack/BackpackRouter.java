@@ -0,0 +1,453 @@
+package me.Anesthyl.enchants.backpack;
+
+import me.Anesthyl.enchants.settings.SettingsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes picked-up items and mining drops straight into auto-pickup backpacks.
+ *
+ * Dev Notes:
+ * - Keeps a per-player routing index (Material -> backpack slots with room)
+ *   built from the auto-pickup backpacks in the player's inventory.
+ * - The index is updated in place as items are routed, so a pickup never
+ *   deserializes a backpack. Changed backpacks are written back once per tick.
+ * - Only inventory events that move a backpack (clicked, cursor, hotbar
+ *   swap, dragged, dropped or swapped item) flush and drop the index; it is
+ *   rebuilt lazily on the next routed item. Other inventory changes keep it.
+ * - Only meta-less stacks (ores, ingots, blocks) are routed, so stacking
+ *   never has to compare item meta.
+ * - Routing is suspended while the player has a backpack GUI open, and
+ *   entirely while backpacks.auto-pickup is off in config.yml.
+ */
+public class BackpackRouter implements Listener {
+
+    private final JavaPlugin plugin;
+    private final BackpackManager backpackManager;
+    private final SettingsManager settings;
+
+    private final Map<UUID, RoutingIndex> indexes = new HashMap<>();
+    private final Set<UUID> suspended = new HashSet<>();
+    private final Set<UUID> dirtyPlayers = new HashSet<>();
+    private boolean flushScheduled = false;
+
+    public BackpackRouter(JavaPlugin plugin, BackpackManager backpackManager, SettingsManager settings) {
+        this.plugin = plugin;
+        this.backpackManager = backpackManager;
+        this.settings = settings;
+    }
+
+    // ------------------------------
+    // Routing
+    // ------------------------------
+
+    /**
+     * Route as much of a stack as possible into the player's auto-pickup backpacks.
+     * The stack itself is not modified.
+     *
+     * @return the amount that could NOT be routed
+     */
+    public int route(Player player, ItemStack stack) {
+        if (stack == null || stack.getType().isAir()) return 0;
+        int remaining = stack.getAmount();
+
+        // Only plain stacks are routed (see Dev Notes)
+        if (stack.hasItemMeta()) return remaining;
+        if (suspended.contains(player.getUniqueId())) return remaining;
+        if (!settings.get().backpacks().autoPickup()) return remaining;
+
+        RoutingIndex index = indexes.get(player.getUniqueId());
+        if (index == null) {
+            index = buildIndex(player);
+            indexes.put(player.getUniqueId(), index);
+        }
+        if (index.backpacks.isEmpty()) return remaining;
+
+        Material type = stack.getType();
+        int maxStack = stack.getMaxStackSize();
+
+        // 1. Top up existing partial stacks of this material
+        SlotStack partials = index.partials.get(type);
+        while (remaining > 0 && partials != null && partials.size > 0) {
+            int packed = partials.peek();
+            RoutedBackpack backpack = index.backpacks.get(packed >>> 8);
+            ItemStack existing = backpack.contents[packed & 0xFF];
+
+            int moved = Math.min(remaining, maxStack - existing.getAmount());
+            existing.setAmount(existing.getAmount() + moved);
+            remaining -= moved;
+            markDirty(player, backpack);
+
+            if (existing.getAmount() >= maxStack) {
+                partials.pop();
+            }
+        }
+
+        // 2. Fill empty slots in backpacks that accept this material
+        for (int b = 0; b < index.backpacks.size() && remaining > 0; b++) {
+            RoutedBackpack backpack = index.backpacks.get(b);
+            if (!backpack.accepts(type)) continue;
+
+            while (remaining > 0) {
+                int slot = backpack.nextEmptySlot();
+                if (slot < 0) break;
+
+                int moved = Math.min(remaining, maxStack);
+                backpack.contents[slot] = new ItemStack(type, moved);
+                remaining -= moved;
+                markDirty(player, backpack);
+
+                if (moved < maxStack) {
+                    index.partials.computeIfAbsent(type, k -> new SlotStack()).push((b << 8) | slot);
+                }
+            }
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Route a drop into the player's backpacks and drop whatever is left at the location.
+     * Used by mining enchants in place of dropItemNaturally.
+     */
+    public void giveOrDrop(Player player, Location location, ItemStack drop) {
+        int remaining = route(player, drop);
+        if (remaining <= 0) return;
+
+        drop.setAmount(remaining);
+        location.getWorld().dropItemNaturally(location, drop);
+    }
+
+    // ------------------------------
+    // Index Lifecycle
+    // ------------------------------
+
+    /**
+     * Build the routing index from the auto-pickup backpacks in a player's inventory.
+     * This is the only place backpack contents are deserialized for routing.
+     */
+    private RoutingIndex buildIndex(Player player) {
+        RoutingIndex index = new RoutingIndex();
+        ItemStack[] storage = player.getInventory().getStorageContents();
+
+        for (int invSlot = 0; invSlot < storage.length; invSlot++) {
+            ItemStack item = storage[invSlot];
+            if (!backpackManager.isAutoPickup(item)) continue;
+
+            // Read-only: backpacks without an id yet are skipped (they get one when opened or toggled)
+            String id = backpackManager.getBackpackId(item);
+            if (id == null) continue;
+
+            ItemStack[] contents = Arrays.copyOf(
+                    backpackManager.loadInventory(item), BackpackManager.BACKPACK_SIZE);
+            RoutedBackpack backpack = new RoutedBackpack(
+                    invSlot, id, backpackManager.getFilter(item), contents);
+
+            int b = index.backpacks.size();
+            index.backpacks.add(backpack);
+
+            for (int slot = 0; slot < contents.length; slot++) {
+                ItemStack stored = contents[slot];
+                if (stored == null || stored.getType().isAir()) {
+                    contents[slot] = null;
+                    continue;
+                }
+                if (stored.hasItemMeta() || !backpack.accepts(stored.getType())) continue;
+                if (stored.getAmount() >= stored.getMaxStackSize()) continue;
+
+                index.partials.computeIfAbsent(stored.getType(), k -> new SlotStack()).push((b << 8) | slot);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Write pending changes back to the player's backpacks and drop the index.
+     * Call before anything that could move a backpack.
+     */
+    public void invalidate(Player player) {
+        flush(player, null);
+        indexes.remove(player.getUniqueId());
+    }
+
+    /**
+     * Stop routing for a player (backpack GUI opened).
+     */
+    public void suspend(Player player) {
+        invalidate(player);
+        suspended.add(player.getUniqueId());
+    }
+
+    /**
+     * Resume routing for a player (backpack GUI closed).
+     */
+    public void resume(Player player) {
+        suspended.remove(player.getUniqueId());
+    }
+
+    /**
+     * Flush every pending backpack (plugin disable).
+     */
+    public void shutdown() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            flush(player, null);
+        }
+        indexes.clear();
+        dirtyPlayers.clear();
+    }
+
+    private void markDirty(Player player, RoutedBackpack backpack) {
+        backpack.dirty = true;
+        dirtyPlayers.add(player.getUniqueId());
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flushDirty);
+        }
+    }
+
+    /**
+     * Coalesced write-back: runs once per tick at most.
+     */
+    private void flushDirty() {
+        flushScheduled = false;
+
+        for (UUID uuid : new ArrayList<>(dirtyPlayers)) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                flush(player, null);
+            }
+        }
+        dirtyPlayers.clear();
+    }
+
+    /**
+     * Serialize dirty backpacks back onto their items.
+     *
+     * @param extraTargets items outside the inventory that may hold the backpack
+     *                     (death drops), searched before the inventory
+     */
+    private void flush(Player player, List<ItemStack> extraTargets) {
+        RoutingIndex index = indexes.get(player.getUniqueId());
+        if (index == null) return;
+
+        PlayerInventory inventory = player.getInventory();
+        for (RoutedBackpack backpack : index.backpacks) {
+            if (!backpack.dirty) continue;
+
+            ItemStack target = findBackpack(inventory, extraTargets, backpack);
+            if (target == null) {
+                plugin.getLogger().warning("Backpack " + backpack.id + " of " + player.getName()
+                        + " moved before routed items were saved");
+                continue;
+            }
+
+            backpackManager.saveInventory(target, backpack.contents);
+            backpack.dirty = false;
+        }
+        dirtyPlayers.remove(player.getUniqueId());
+    }
+
+    private ItemStack findBackpack(PlayerInventory inventory, List<ItemStack> extraTargets, RoutedBackpack backpack) {
+        if (extraTargets != null) {
+            for (ItemStack item : extraTargets) {
+                if (backpack.id.equals(backpackManager.getBackpackId(item))) return item;
+            }
+        }
+
+        // Usually still where the index found it
+        ItemStack atSlot = inventory.getItem(backpack.inventorySlot);
+        if (backpack.id.equals(backpackManager.getBackpackId(atSlot))) return atSlot;
+
+        for (ItemStack item : inventory.getStorageContents()) {
+            if (backpack.id.equals(backpackManager.getBackpackId(item))) return item;
+        }
+        return null;
+    }
+
+    // ------------------------------
+    // Events
+    // ------------------------------
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player player)) return;
+
+        Item itemEntity = event.getItem();
+        ItemStack stack = itemEntity.getItemStack();
+
+        // A new backpack entering the inventory changes the routing targets
+        if (backpackManager.isBackpack(stack)) {
+            invalidate(player);
+            return;
+        }
+
+        int remaining = route(player, stack);
+        if (remaining == stack.getAmount()) return;
+
+        event.setCancelled(true);
+        player.playSound(player.getLocation(), Sound.ENTITY_ITEM_PICKUP, 0.2f, 1.6f);
+
+        if (remaining <= 0) {
+            itemEntity.remove();
+        } else {
+            // Leftover stays on the ground for vanilla to pick up into the inventory
+            stack.setAmount(remaining);
+            itemEntity.setItemStack(stack);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) return;
+
+        // Only clicks that can move a backpack change the routing targets
+        boolean movesBackpack = backpackManager.isBackpack(event.getCurrentItem())
+                || backpackManager.isBackpack(event.getCursor());
+        if (!movesBackpack && event.getHotbarButton() >= 0) {
+            movesBackpack = backpackManager.isBackpack(player.getInventory().getItem(event.getHotbarButton()));
+        }
+        if (!movesBackpack && event.getClick() == ClickType.SWAP_OFFHAND) {
+            movesBackpack = backpackManager.isBackpack(player.getInventory().getItemInOffHand());
+        }
+
+        if (movesBackpack) invalidate(player);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player && backpackManager.isBackpack(event.getOldCursor())) {
+            invalidate(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDrop(PlayerDropItemEvent event) {
+        if (backpackManager.isBackpack(event.getItemDrop().getItemStack())) {
+            invalidate(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        // The off hand isn't indexed, so a backpack moving either way changes the targets
+        if (backpackManager.isBackpack(event.getMainHandItem())
+                || backpackManager.isBackpack(event.getOffHandItem())) {
+            invalidate(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDeath(PlayerDeathEvent event) {
+        Player player = event.getEntity();
+        // Death drops are copies, so write pending changes into them directly
+        flush(player, event.getDrops());
+        indexes.remove(player.getUniqueId());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        invalidate(player);
+        suspended.remove(player.getUniqueId());
+    }
+
+    // ------------------------------
+    // Index Structures
+    // ------------------------------
+
+    /**
+     * Routing state for one player.
+     * Partial stacks are packed as (backpack index << 8) | backpack slot.
+     */
+    private static final class RoutingIndex {
+        final List<RoutedBackpack> backpacks = new ArrayList<>();
+        final Map<Material, SlotStack> partials = new EnumMap<>(Material.class);
+    }
+
+    /**
+     * Decoded contents of one auto-pickup backpack.
+     */
+    private static final class RoutedBackpack {
+        final int inventorySlot;
+        final String id;
+        final Set<Material> filter;
+        final ItemStack[] contents;
+        int emptyCursor = 0;
+        boolean dirty = false;
+
+        RoutedBackpack(int inventorySlot, String id, Set<Material> filter, ItemStack[] contents) {
+            this.inventorySlot = inventorySlot;
+            this.id = id;
+            this.filter = filter;
+            this.contents = contents;
+        }
+
+        boolean accepts(Material material) {
+            return filter.isEmpty() || filter.contains(material);
+        }
+
+        /**
+         * Slots only ever fill while indexed, so the cursor never moves back.
+         */
+        int nextEmptySlot() {
+            while (emptyCursor < contents.length) {
+                if (contents[emptyCursor] == null) return emptyCursor;
+                emptyCursor++;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Minimal int stack to avoid boxing packed slot references.
+     */
+    private static final class SlotStack {
+        int[] values = new int[4];
+        int size = 0;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int peek() {
+            return values[size - 1];
+        }
+
+        void pop() {
+            size--;
+        }
+    }
+}
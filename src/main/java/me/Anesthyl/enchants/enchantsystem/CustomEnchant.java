@@ -1,16 +1,20 @@
 package me.Anesthyl.enchants.enchantsystem;
 
 import me.Anesthyl.enchants.stat.StatType;
+import me.Anesthyl.enchants.stat.StatVector;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.EnumSet;
+
 /**
  * Base class for all custom enchants.
  *
  * Responsibilities:
  * 1. Store NamespacedKey for PDC storage.
  * 2. Define hooks for combat, block-break, and table application.
+ *    Combat/block hooks are no-ops unless declared in getCapabilities().
  * 3. Provide max level, rarity, and table eligibility.
  */
 public abstract class CustomEnchant {
@@ -18,6 +22,9 @@ public abstract class CustomEnchant {
     private final NamespacedKey key;
     private final String displayName;
     private final int maxLevel;
+    private StatVector[] statVectors; // index = level, built on registration
+    private int id = -1;              // registration index, see EnchantManager
+    private int capabilityMask;       // EnchantCapability bits, built on registration
 
     public CustomEnchant(JavaPlugin plugin, String key, String displayName, int maxLevel) {
         this.key = new NamespacedKey(plugin, key); // PDC-safe key
@@ -37,6 +44,54 @@ public abstract class CustomEnchant {
         return maxLevel;
     }
 
+    /**
+     * Dense index assigned on registration (0, 1, 2, ...), for per-enchant arrays.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Hooks this enchant implements. Listeners only call hooks for declared
+     * capabilities, so an undeclared onHit/onBlockBreak is never invoked.
+     */
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.noneOf(EnchantCapability.class);
+    }
+
+    public boolean hasCapability(EnchantCapability capability) {
+        return (capabilityMask & capability.bit()) != 0;
+    }
+
+    /**
+     * EnchantCapability bits of this enchant. Valid after registration.
+     */
+    public int getCapabilityMask() {
+        return capabilityMask;
+    }
+
+    /**
+     * Fold declared capabilities (plus PASSIVE_STAT if any level has stat
+     * bonuses) into a bitmask. Called by EnchantManager after buildStatVectors().
+     */
+    void buildCapabilityMask() {
+        int mask = 0;
+        for (EnchantCapability capability : getCapabilities()) {
+            mask |= capability.bit();
+        }
+        for (int level = 1; level <= maxLevel; level++) {
+            if (!statVectors[level].isEmpty()) {
+                mask |= EnchantCapability.PASSIVE_STAT.bit();
+                break;
+            }
+        }
+        capabilityMask = mask;
+    }
+
     // ------------------------------
     // Table Enchant Hooks
     // ------------------------------
@@ -60,22 +115,39 @@ public abstract class CustomEnchant {
     // ------------------------------
 
     /**
-     * Called when a player hits a target.
+     * Called when a player hits a target. Only for enchants declaring ON_HIT.
+     */
+    public void onHit(org.bukkit.entity.Player attacker,
+                      org.bukkit.entity.LivingEntity target,
+                      int level) {
+    }
+
+    /**
+     * Chance (0.0 to 1.0) that onHit fires for a hit. Defaults to always.
      */
-    public abstract void onHit(org.bukkit.entity.Player attacker,
-                               org.bukkit.entity.LivingEntity target,
-                               int level);
+    public double getProcChance(int level) {
+        return 1.0;
+    }
+
+    /**
+     * Minimum ticks between two onHit procs for the same player.
+     * Defaults to no internal cooldown.
+     */
+    public int getProcCooldown(int level) {
+        return 0;
+    }
 
     // ------------------------------
     // Block Hooks
     // ------------------------------
 
     /**
-     * Called when a player breaks a block.
+     * Called when a player breaks a block. Only for enchants declaring ON_BREAK.
      */
-    public abstract void onBlockBreak(org.bukkit.entity.Player player,
-                                      org.bukkit.block.Block block,
-                                      int level);
+    public void onBlockBreak(org.bukkit.entity.Player player,
+                             org.bukkit.block.Block block,
+                             int level) {
+    }
 
     /**
      * Can this enchant be applied to this item?
@@ -96,4 +168,28 @@ public abstract class CustomEnchant {
     public double getStatBonus(StatType type, int level) {
         return 0.0;
     }
+
+    /**
+     * All non-zero stat bonuses at a level. Precomputed for levels up to
+     * max level; levels beyond that (e.g. from commands) are built on demand.
+     */
+    public StatVector getStatVector(int level) {
+        if (statVectors != null && level >= 0 && level < statVectors.length) {
+            return statVectors[level];
+        }
+        return StatVector.of(type -> getStatBonus(type, level));
+    }
+
+    /**
+     * Precompute stat vectors for every level. Called by EnchantManager on registration.
+     */
+    void buildStatVectors() {
+        StatVector[] vectors = new StatVector[maxLevel + 1];
+        vectors[0] = StatVector.EMPTY;
+        for (int level = 1; level <= maxLevel; level++) {
+            int lvl = level;
+            vectors[level] = StatVector.of(type -> getStatBonus(type, lvl));
+        }
+        statVectors = vectors;
+    }
 }
@@ -7,6 +7,7 @@ import org.bukkit.event.player.PlayerToggleFlightEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.EnumSet;
 import java.util.Random;
 
 /**
@@ -35,18 +36,13 @@ public class DonaldJumpEnchant extends CustomEnchant {
     }
 
     @Override
-    public boolean canApply(ItemStack item) {
-        return item != null && item.getType().toString().endsWith("_BOOTS");
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_MOVE);
     }
 
     @Override
-    public void onHit(Player player, org.bukkit.entity.LivingEntity target, int level) {
-        // Not used
-    }
-
-    @Override
-    public void onBlockBreak(Player player, org.bukkit.block.Block block, int level) {
-        // Not used
+    public boolean canApply(ItemStack item) {
+        return item != null && item.getType().toString().endsWith("_BOOTS");
     }
 
     @Override
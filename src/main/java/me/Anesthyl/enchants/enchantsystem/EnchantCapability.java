@@ -0,0 +1,25 @@
+package me.Anesthyl.enchants.enchantsystem;
+
+/**
+ * Hooks an enchant actually implements.
+ *
+ * Dev Notes:
+ * - Enchants declare these through CustomEnchant.getCapabilities();
+ *   PASSIVE_STAT is added automatically for enchants with stat bonuses.
+ * - EnchantManager keeps one dispatch array per capability and can build
+ *   an item's capability bitmask (see bit()), so listeners can bail out
+ *   before decoding any enchant levels.
+ */
+public enum EnchantCapability {
+    ON_HIT,
+    ON_BREAK,
+    ON_MOVE,
+    ON_DAMAGED,
+    PASSIVE_STAT;
+
+    public static final EnchantCapability[] VALUES = values();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
@@ -1,9 +1,12 @@
 package me.Anesthyl.enchants.enchantsystem;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
 
@@ -11,20 +14,52 @@ import java.util.*;
  * Manages all custom enchants.
  * Responsibilities:
  * - Register and track enchants.
- * - Query item enchants.
+ * - Query item enchants (through the item's read-only PDC view, no ItemMeta copy).
  * - Apply table enchants.
  * - Helper methods for listeners.
+ *
+ * Dev Notes:
+ * - Every path that writes enchants (EnchantUtil, table enchants, the
+ *   grindstone) also stores the item's capability mask in its PDC, so
+ *   listeners gate on a single int read. Items enchanted before the mask
+ *   existed fall back to probing the enchant keys.
  */
 public class EnchantManager {
 
     private final Map<String, CustomEnchant> enchants = new HashMap<>();
+    private final NamespacedKey capabilitiesKey;
+
+    // Enchants per capability, indexed by EnchantCapability.ordinal()
+    private final CustomEnchant[][] byCapability = new CustomEnchant[EnchantCapability.VALUES.length][0];
+
+    public EnchantManager(JavaPlugin plugin) {
+        this.capabilitiesKey = new NamespacedKey(plugin, "enchant_capabilities");
+    }
 
     // ------------------------------
     // Registration
     // ------------------------------
 
     public void registerEnchant(CustomEnchant enchant) {
+        enchant.setId(enchants.size()); // dense index for per-enchant arrays
+        enchant.buildStatVectors();
+        enchant.buildCapabilityMask();
         enchants.put(enchant.getKey().getKey(), enchant); // store by string key
+
+        for (EnchantCapability capability : EnchantCapability.VALUES) {
+            if (!enchant.hasCapability(capability)) continue;
+            CustomEnchant[] current = byCapability[capability.ordinal()];
+            CustomEnchant[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = enchant;
+            byCapability[capability.ordinal()] = grown;
+        }
+    }
+
+    /**
+     * Registered enchants that declare a capability. Do not modify.
+     */
+    public CustomEnchant[] getEnchants(EnchantCapability capability) {
+        return byCapability[capability.ordinal()];
     }
 
     public Collection<CustomEnchant> getEnchants() {
@@ -47,7 +82,7 @@ public class EnchantManager {
         Map<CustomEnchant, Integer> found = new HashMap<>();
         if (item == null || !item.hasItemMeta()) return found;
 
-        PersistentDataContainer pdc = item.getItemMeta().getPersistentDataContainer();
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
 
         for (CustomEnchant enchant : enchants.values()) {
             Integer level = pdc.get(enchant.getKey(), PersistentDataType.INTEGER);
@@ -58,6 +93,80 @@ public class EnchantManager {
         return found;
     }
 
+    /**
+     * Only the enchants on the item that declare a capability.
+     */
+    public Map<CustomEnchant, Integer> getItemEnchants(ItemStack item, EnchantCapability capability) {
+        CustomEnchant[] candidates = byCapability[capability.ordinal()];
+        if (candidates.length == 0 || item == null || !item.hasItemMeta()) return Collections.emptyMap();
+
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
+        Map<CustomEnchant, Integer> found = null;
+
+        for (CustomEnchant enchant : candidates) {
+            Integer level = pdc.get(enchant.getKey(), PersistentDataType.INTEGER);
+            if (level != null && level > 0) {
+                if (found == null) found = new HashMap<>();
+                found.put(enchant, level);
+            }
+        }
+        return found == null ? Collections.emptyMap() : found;
+    }
+
+    /**
+     * Union of the EnchantCapability bits of every enchant on the item.
+     * One PDC read for items whose mask was stored when enchanted; items
+     * without meta or PDC entries cost no key lookups at all.
+     */
+    public int getItemCapabilities(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return 0;
+
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
+        if (pdc.isEmpty()) return 0;
+
+        Integer stored = pdc.get(capabilitiesKey, PersistentDataType.INTEGER);
+        if (stored != null) return stored;
+
+        // Enchanted before masks were stored
+        return probeCapabilities(pdc);
+    }
+
+    /**
+     * Recompute and store the capability mask after enchants on the meta
+     * changed. Call before the meta is written back to the item.
+     */
+    public void updateCapabilities(ItemMeta meta) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        boolean enchanted = false;
+        int mask = 0;
+        for (CustomEnchant enchant : enchants.values()) {
+            if (!pdc.has(enchant.getKey(), PersistentDataType.INTEGER)) continue;
+            enchanted = true;
+            mask |= enchant.getCapabilityMask();
+        }
+
+        // Stored even when 0, so enchants without hooks don't trigger the fallback probe
+        if (enchanted) {
+            pdc.set(capabilitiesKey, PersistentDataType.INTEGER, mask);
+        } else {
+            pdc.remove(capabilitiesKey);
+        }
+    }
+
+    private int probeCapabilities(PersistentDataContainerView pdc) {
+        int mask = 0;
+        for (CustomEnchant enchant : enchants.values()) {
+            int bits = enchant.getCapabilityMask();
+            if ((mask & bits) == bits) continue; // nothing new to learn from this one
+            if (pdc.has(enchant.getKey(), PersistentDataType.INTEGER)) mask |= bits;
+        }
+        return mask;
+    }
+
+    public boolean hasCapability(ItemStack item, EnchantCapability capability) {
+        return (getItemCapabilities(item) & capability.bit()) != 0;
+    }
+
     public boolean hasEnchant(ItemStack item, CustomEnchant enchant) {
         return getItemEnchants(item).containsKey(enchant);
     }
@@ -80,5 +189,11 @@ public class EnchantManager {
 
             enchant.onTableEnchant(item, level);
         }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            updateCapabilities(meta);
+            item.setItemMeta(meta);
+        }
     }
 }
@@ -8,6 +8,7 @@ import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
 
@@ -39,14 +40,14 @@ public class ExcavatorEnchant extends CustomEnchant {
     }
 
     @Override
-    public boolean canApply(ItemStack item) {
-        if (item == null) return false;
-        return VALID_TOOLS.contains(item.getType());
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_BREAK);
     }
 
     @Override
-    public void onHit(Player attacker, org.bukkit.entity.LivingEntity target, int level) {
-        // Combat not used
+    public boolean canApply(ItemStack item) {
+        if (item == null) return false;
+        return VALID_TOOLS.contains(item.getType());
     }
 
     /**
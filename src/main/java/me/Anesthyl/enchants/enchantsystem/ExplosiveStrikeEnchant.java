@@ -1,5 +1,7 @@
 package me.Anesthyl.enchants.enchantsystem;
 
+import me.Anesthyl.enchants.Enchants;
+import me.Anesthyl.enchants.util.EntitySpatialIndex;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -7,6 +9,9 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -18,13 +23,24 @@ import java.util.Random;
  * - Blast radius scales with level.
  * - Compatible with other custom enchants and vanilla mechanics.
  * - Table rarity: 15% chance, level random up to max.
+ * - Nearby targets come from the shared EntitySpatialIndex into a reused
+ *   buffer; the blast damage has no source, so it never re-enters onHit.
  */
 public class ExplosiveStrikeEnchant extends CustomEnchant {
 
     private static final Random RANDOM = new Random();
 
+    private final EntitySpatialIndex entityIndex;
+    private final List<LivingEntity> targets = new ArrayList<>();
+
     public ExplosiveStrikeEnchant(JavaPlugin plugin) {
         super(plugin, "explosive_strike", "§cExplosive Strike", 3); // Max level 3
+        this.entityIndex = ((Enchants) plugin).getEntityIndex();
+    }
+
+    @Override
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_HIT);
     }
 
     /**
@@ -52,11 +68,8 @@ public class ExplosiveStrikeEnchant extends CustomEnchant {
         double damage = 1.0 + (level * 0.5); // Level 1 = 1.5, Level 2 = 2.0, Level 3 = 2.5 hearts
 
         // Apply knockback and damage to nearby entities
-        for (LivingEntity entity : loc.getWorld().getNearbyEntities(loc, radius, radius, radius)
-                .stream()
-                .filter(e -> e instanceof LivingEntity)
-                .map(e -> (LivingEntity) e)
-                .toList()) {
+        entityIndex.querySphere(loc.getWorld(), loc.getX(), loc.getY(), loc.getZ(), radius, targets);
+        for (LivingEntity entity : targets) {
 
             // Skip the attacker (don't damage yourself)
             if (entity.equals(attacker)) continue;
@@ -72,14 +85,15 @@ public class ExplosiveStrikeEnchant extends CustomEnchant {
             // Apply damage (scales with level)
             entity.damage(damage);
         }
+        targets.clear();
     }
 
     /**
-     * Not used for block breaking.
+     * Half a second between blasts, so sweeps and multi-hits explode once.
      */
     @Override
-    public void onBlockBreak(Player player, org.bukkit.block.Block block, int level) {
-        // Not applicable
+    public int getProcCooldown(int level) {
+        return 10;
     }
 
     /**
@@ -1,17 +1,26 @@
 package me.Anesthyl.enchants.enchantsystem;
 
+import me.Anesthyl.enchants.Enchants;
+import me.Anesthyl.enchants.settings.SettingsManager;
+import me.Anesthyl.enchants.util.EntitySpatialIndex;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.block.Block;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.entity.LivingEntity;
+import org.bukkit.World;
+import org.bukkit.block.data.Levelled;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Lava Walker Enchant
@@ -20,13 +29,46 @@ import java.util.Set;
  * - Boots-only movement enchant (Frost Walker–style behavior).
  * - Converts nearby lava source blocks into obsidian temporarily.
  * - Radius scales per level via config.
- * - Obsidian reverts back to lava after a short delay.
- * - Logic is triggered via LavaWalkerListener (PlayerMoveEvent).
+ * - Obsidian reverts back to lava after a configurable delay (5s default).
+ * - Each step only scans the strip of the footprint that is new since the
+ *   last step (packed positions, already-converted blocks skipped), so the
+ *   cost grows with distance moved rather than radius squared.
+ * - Reverting a block drops every footprint that covers it, so a player
+ *   standing still near it converts it again on their next step.
+ * - Logic is triggered via MovementDispatcher (PlayerMoveEvent, block changes only).
  * - Safe for multiplayer and does not permanently alter terrain.
  */
 public class LavaWalkerEnchant extends CustomEnchant {
 
+    private static final long RETRY_DELAY = 20L;   // re-check blocks a player was standing near
+
     private final JavaPlugin plugin;
+    private final EntitySpatialIndex entityIndex;
+    private final SettingsManager settings;
+
+    // Last scanned square per player; the next step only scans what's new
+    private final Map<UUID, Footprint> footprints = new HashMap<>();
+    // Obsidian placed by us and not yet reverted, per world
+    private final Map<UUID, Set<Long>> converted = new HashMap<>();
+
+    private record Footprint(UUID world, int x, int y, int z, int radius) {
+        /**
+         * True if this footprint covered column x of the next one at the same
+         * height and radius, i.e. some of that column is already scanned.
+         */
+        boolean overlapsColumn(Footprint next, int columnX) {
+            return world.equals(next.world) && y == next.y && radius == next.radius
+                    && Math.abs(columnX - x) <= radius;
+        }
+
+        /**
+         * True if this footprint scanned the block (its level or one below).
+         */
+        boolean covers(UUID blockWorld, int bx, int by, int bz) {
+            return world.equals(blockWorld) && (by == y || by == y - 1)
+                    && Math.abs(bx - x) <= radius && Math.abs(bz - z) <= radius;
+        }
+    }
 
     public LavaWalkerEnchant(JavaPlugin plugin) {
         super(
@@ -36,6 +78,13 @@ public class LavaWalkerEnchant extends CustomEnchant {
                 2
         );
         this.plugin = plugin;
+        this.entityIndex = ((Enchants) plugin).getEntityIndex();
+        this.settings = ((Enchants) plugin).getSettings();
+    }
+
+    @Override
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_MOVE);
     }
 
     // ------------------------------------------------------------
@@ -76,84 +125,146 @@ public class LavaWalkerEnchant extends CustomEnchant {
     }
 
     // ------------------------------------------------------------
-    // Combat / Block hooks (unused)
-    // ------------------------------------------------------------
-
-    @Override
-    public void onHit(Player attacker, LivingEntity target, int level) {
-        // Not a combat enchant
-    }
-
-    @Override
-    public void onBlockBreak(Player player, Block block, int level) {
-        // Not a mining enchant
-    }
-
-    // ------------------------------------------------------------
-    // Movement Logic (called from LavaWalkerListener)
+    // Movement Logic (called from MovementDispatcher)
     // ------------------------------------------------------------
 
     /**
-     * Called by LavaWalkerListener on PlayerMoveEvent.
+     * Called by MovementDispatcher when the player enters a new block.
      */
     public void onPlayerMove(org.bukkit.event.player.PlayerMoveEvent event, int level) {
         Player player = event.getPlayer();
 
-        if (player.isSneaking()) return; // Vanilla Frost Walker behavior
-        if (player.isFlying()) return;
+        if (player.isSneaking() || player.isFlying()) { // Vanilla Frost Walker behavior
+            footprints.remove(player.getUniqueId());
+            return;
+        }
 
         int radius = getRadius(level);
-        Set<Block> toRevert = new HashSet<>();
+        World world = player.getWorld();
+        Location feet = player.getLocation();
 
-        // Use player's feet position (eye location - 1.62 blocks for standing player)
-        Block center = player.getLocation().subtract(0, 0.5, 0).getBlock();
+        // Footprint center: the block under the player's feet
+        int cx = feet.getBlockX();
+        int cy = (int) Math.floor(feet.getY() - 0.5);
+        int cz = feet.getBlockZ();
 
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                // Check blocks at player's feet level and one block below
-                for (int y = 0; y <= 1; y++) {
-                    Block block = center.getRelative(x, -y, z);
+        Footprint previous = footprints.get(player.getUniqueId());
+        Footprint current = new Footprint(world.getUID(), cx, cy, cz, radius);
+        footprints.put(player.getUniqueId(), current);
 
-                    // Only convert full lava source blocks
-                    if (block.getType() != Material.LAVA) continue;
-                    if (!block.getBlockData().getAsString().contains("[level=0]")) continue;
+        // Blocks the player occupies are never converted
+        long standing = pack(cx, feet.getBlockY(), cz);
+        long below = pack(cx, (int) Math.floor(feet.getY() - 1), cz);
 
-                    // Don't convert if player would be inside the obsidian
-                    Block playerBlock = player.getLocation().getBlock();
-                    Block playerFeetBlock = player.getLocation().subtract(0, 1, 0).getBlock();
-                    if (block.equals(playerBlock) || block.equals(playerFeetBlock)) continue;
+        Set<Long> converted = this.converted.computeIfAbsent(world.getUID(), k -> new HashSet<>());
+        List<Long> toRevert = new ArrayList<>();
 
-                    block.setType(Material.OBSIDIAN);
-                    toRevert.add(block);
-                }
+        for (int x = cx - radius; x <= cx + radius; x++) {
+            if (previous == null || !previous.overlapsColumn(current, x)) {
+                scanColumn(world, x, cz - radius, cz + radius, cy, standing, below, converted, toRevert);
+                continue;
             }
+            // Column shared with the previous footprint: only the rows it didn't cover
+            scanColumn(world, x, cz - radius, Math.min(cz + radius, previous.z - radius - 1),
+                    cy, standing, below, converted, toRevert);
+            scanColumn(world, x, Math.max(cz - radius, previous.z + radius + 1), cz + radius,
+                    cy, standing, below, converted, toRevert);
         }
 
         // Schedule revert back to lava
         if (!toRevert.isEmpty()) {
-            Bukkit.getScheduler().runTaskLater(
-                    plugin,
-                    () -> {
-                        for (Block b : toRevert) {
-                            // Only revert if player is not standing on it
-                            boolean playerNearby = false;
-                            for (Player p : Bukkit.getOnlinePlayers()) {
-                                if (p.getLocation().distance(b.getLocation()) < 2.0) {
-                                    playerNearby = true;
-                                    break;
-                                }
-                            }
-
-                            if (b.getType() == Material.OBSIDIAN && !playerNearby) {
-                                b.setType(Material.LAVA);
-                            }
-                        }
-                    },
-                    100L // 5 seconds (vanilla Frost Walker is ~4s)
-            );
+            scheduleRevert(world, toRevert, settings.get().enchants().lavaWalkerRevertTicks());
+        }
+    }
+
+    /**
+     * Forget the player's last footprint, so the next step scans in full.
+     */
+    public void removePlayer(Player player) {
+        footprints.remove(player.getUniqueId());
+    }
+
+    /**
+     * Convert lava sources at the footprint level and one below in a run of
+     * one column (z from..to inclusive).
+     */
+    private void scanColumn(World world, int x, int fromZ, int toZ, int cy,
+                            long standing, long below, Set<Long> converted, List<Long> toRevert) {
+        for (int z = fromZ; z <= toZ; z++) {
+            if (!world.isChunkLoaded(x >> 4, z >> 4)) continue;
+
+            // Check blocks at player's feet level and one block below
+            for (int y = cy; y >= cy - 1; y--) {
+                long key = pack(x, y, z);
+                if (key == standing || key == below || converted.contains(key)) continue;
+
+                // Only convert full lava source blocks
+                if (world.getType(x, y, z) != Material.LAVA) continue;
+                if (!(world.getBlockData(x, y, z) instanceof Levelled lava) || lava.getLevel() != 0) continue;
+
+                world.setType(x, y, z, Material.OBSIDIAN);
+                converted.add(key);
+                toRevert.add(key);
+            }
         }
     }
 
+    /**
+     * Turn tracked obsidian back into lava. Blocks with a player right next
+     * to them are kept and retried later, so nobody drops into lava.
+     */
+    private void scheduleRevert(World world, List<Long> blocks, long delay) {
+        Bukkit.getScheduler().runTaskLater(
+                plugin,
+                () -> {
+                    Set<Long> converted = this.converted.get(world.getUID());
+                    List<Long> retry = new ArrayList<>();
+
+                    for (long key : blocks) {
+                        int x = unpackX(key), y = unpackY(key), z = unpackZ(key);
+
+                        // Only revert if player is not standing on it
+                        if (entityIndex.anyPlayerWithin(world, x, y, z, 2.0)) {
+                            retry.add(key);
+                            continue;
+                        }
+
+                        if (converted != null) converted.remove(key);
+                        if (world.isChunkLoaded(x >> 4, z >> 4) && world.getType(x, y, z) == Material.OBSIDIAN) {
+                            world.setType(x, y, z, Material.LAVA);
+                        }
+
+                        // A footprint covering this block would never rescan it; rescan in full next step
+                        footprints.values().removeIf(footprint -> footprint.covers(world.getUID(), x, y, z));
+                    }
+
+                    if (!retry.isEmpty()) scheduleRevert(world, retry, RETRY_DELAY);
+                },
+                delay
+        );
+    }
+
+    // ------------------------------------------------------------
+    // Block Positions
+    // ------------------------------------------------------------
+
+    // x/z: 26 bits each, y: 12 bits - same layout as vanilla BlockPos.asLong
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long key) {
+        return (int) (key >> 38);
+    }
+
+    private static int unpackY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    private static int unpackZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
     // ------------------------------------------------------------
     // Config
     // ------------------------------------------------------------
@@ -162,13 +273,12 @@ public class LavaWalkerEnchant extends CustomEnchant {
      * Radius per level (configurable).
      * Level 1 = 3x3 (radius 1), Level 2 = 5x5 (radius 2)
      *
-     * config.yml example:
-     * lava-walker:
-     *   radius-per-level: 1
+     * config.yml:
+     * enchants:
+     *   lava-walker:
+     *     radius-per-level: 1
      */
     private int getRadius(int level) {
-        FileConfiguration config = plugin.getConfig();
-        int perLevel = config.getInt("lava-walker.radius-per-level", 1);
-        return level * perLevel;
+        return level * settings.get().enchants().lavaWalkerRadiusPerLevel();
     }
 }
@@ -6,6 +6,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.EnumSet;
 import java.util.Random;
 
 /**
@@ -24,6 +25,11 @@ public class LifestealEnchant extends CustomEnchant {
         super(plugin, "lifesteal", "§aLifesteal", 3);
     }
 
+    @Override
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_HIT);
+    }
+
     @Override
     public boolean canApply(ItemStack item) {
         return item != null && item.getType().toString().endsWith("_SWORD");
@@ -41,9 +47,12 @@ public class LifestealEnchant extends CustomEnchant {
         attacker.setHealth(Math.min(attacker.getHealth() + heal, maxHealth));
     }
 
+    /**
+     * Half a second between heals, so sweeps and multi-hits heal once.
+     */
     @Override
-    public void onBlockBreak(Player player, org.bukkit.block.Block block, int level) {
-        // Not used
+    public int getProcCooldown(int level) {
+        return 10;
     }
 
     @Override
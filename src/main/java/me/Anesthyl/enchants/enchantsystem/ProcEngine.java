@@ -0,0 +1,95 @@
+package me.Anesthyl.enchants.enchantsystem;
+
+import me.Anesthyl.enchants.settings.SettingsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which on-hit enchants fire for a hit, then fires them.
+ *
+ * Dev Notes:
+ * - Each player has a long[] of last-proc ticks indexed by enchant id
+ *   (CustomEnchant.getId()); an enchant procs only after its
+ *   getProcCooldown() has passed and its getProcChance() roll succeeds.
+ * - At most enchants.procs-per-tick procs fire per tick across all players, so
+ *   mob grinders can't turn one tick into hundreds of explosions.
+ * - Procs are not re-entrant: damage dealt by an enchant while it runs
+ *   (e.g. Explosive Strike's blast) never triggers further procs.
+ */
+public class ProcEngine {
+
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    private final SettingsManager settings;
+    private final Map<UUID, long[]> lastProcs = new HashMap<>();
+
+    private int budgetTick = -1;
+    private int procsThisTick;
+    private boolean procing;
+
+    public ProcEngine(SettingsManager settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Fire the on-hit hooks of a weapon's enchants that are off cooldown.
+     */
+    public void onHit(Player attacker, LivingEntity target, Map<CustomEnchant, Integer> enchants) {
+        if (procing || enchants.isEmpty()) return;
+
+        int tick = Bukkit.getCurrentTick();
+        if (tick != budgetTick) {
+            budgetTick = tick;
+            procsThisTick = 0;
+        }
+
+        int procsPerTick = settings.get().enchants().procsPerTick();
+        procing = true;
+        try {
+            for (Map.Entry<CustomEnchant, Integer> entry : enchants.entrySet()) {
+                if (procsThisTick >= procsPerTick) return;
+
+                CustomEnchant enchant = entry.getKey();
+                int level = entry.getValue();
+                long[] lastProc = lastProcs(attacker, enchant.getId());
+
+                if (tick - lastProc[enchant.getId()] < enchant.getProcCooldown(level)) continue;
+
+                double chance = enchant.getProcChance(level);
+                if (chance < 1.0 && ThreadLocalRandom.current().nextDouble() >= chance) continue;
+
+                lastProc[enchant.getId()] = tick;
+                procsThisTick++;
+                enchant.onHit(attacker, target, level);
+            }
+        } finally {
+            procing = false;
+        }
+    }
+
+    public void removePlayer(Player player) {
+        lastProcs.remove(player.getUniqueId());
+    }
+
+    /**
+     * The player's last-proc array, grown to hold the given enchant id.
+     */
+    private long[] lastProcs(Player player, int id) {
+        long[] lastProc = lastProcs.get(player.getUniqueId());
+        if (lastProc == null || lastProc.length <= id) {
+            long[] grown = new long[Math.max(id + 1, 16)];
+            Arrays.fill(grown, NEVER);
+            if (lastProc != null) System.arraycopy(lastProc, 0, grown, 0, lastProc.length);
+            lastProcs.put(player.getUniqueId(), grown);
+            lastProc = grown;
+        }
+        return lastProc;
+    }
+}
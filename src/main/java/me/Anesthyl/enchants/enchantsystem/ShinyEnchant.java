@@ -45,16 +45,6 @@ public class ShinyEnchant extends CustomEnchant implements Listener {
                 item.getType().toString().endsWith("_HELMET");
     }
 
-    @Override
-    public void onHit(Player player, org.bukkit.entity.LivingEntity target, int level) {
-        // Not used
-    }
-
-    @Override
-    public void onBlockBreak(Player player, org.bukkit.block.Block block, int level) {
-        // Not used
-    }
-
     @Override
     public boolean canAppearOnTable() {
         return true;
@@ -1,11 +1,15 @@
 package me.Anesthyl.enchants.enchantsystem;
 
+import me.Anesthyl.enchants.Enchants;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -24,6 +28,7 @@ import java.util.Random;
 public class SmeltersDelightEnchant extends CustomEnchant {
 
     private final JavaPlugin plugin;
+    private final NamespacedKey veinMinerKey;
     private static final Random RANDOM = new Random();
 
     /**
@@ -51,6 +56,12 @@ public class SmeltersDelightEnchant extends CustomEnchant {
     public SmeltersDelightEnchant(JavaPlugin plugin) {
         super(plugin, "smelters_delight", "§eSmelter's Delight", 1);
         this.plugin = plugin;
+        this.veinMinerKey = new NamespacedKey(plugin, "vein_miner");
+    }
+
+    @Override
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_BREAK);
     }
 
     // --------------------------------------------------
@@ -65,13 +76,9 @@ public class SmeltersDelightEnchant extends CustomEnchant {
         ItemStack tool = player.getInventory().getItemInMainHand();
 
         // Skip if Vein Miner is present - Vein Miner handles Smelter's Delight integration
-        if (tool != null && tool.hasItemMeta()) {
-            org.bukkit.inventory.meta.ItemMeta meta = tool.getItemMeta();
-            if (meta.getPersistentDataContainer().has(
-                new org.bukkit.NamespacedKey(plugin, "vein_miner"),
-                org.bukkit.persistence.PersistentDataType.INTEGER)) {
-                return; // Vein Miner will handle everything
-            }
+        if (tool != null && tool.hasItemMeta()
+                && tool.getPersistentDataContainer().has(veinMinerKey, PersistentDataType.INTEGER)) {
+            return; // Vein Miner will handle everything
         }
 
         // Base amount is 1
@@ -90,8 +97,9 @@ public class SmeltersDelightEnchant extends CustomEnchant {
             }
         }
 
-        // Drop smelted result ONLY
-        block.getWorld().dropItemNaturally(
+        // Drop smelted result ONLY (auto-pickup backpacks take it first)
+        ((Enchants) plugin).getBackpackRouter().giveOrDrop(
+                player,
                 block.getLocation(),
                 new ItemStack(smelted, amount)
         );
@@ -100,11 +108,6 @@ public class SmeltersDelightEnchant extends CustomEnchant {
         block.setType(Material.AIR);
     }
 
-    @Override
-    public void onHit(Player attacker, org.bukkit.entity.LivingEntity target, int level) {
-        // Not used
-    }
-
     // --------------------------------------------------
     // Table Logic
     // --------------------------------------------------
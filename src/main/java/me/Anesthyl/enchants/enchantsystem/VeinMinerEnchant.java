@@ -23,8 +23,6 @@ import java.util.*;
  */
 public class VeinMinerEnchant extends CustomEnchant {
 
-    private static final int VEIN_CAP = 64;
-
     private static final Set<Material> ORES = Set.of(
             Material.COAL_ORE, Material.DEEPSLATE_COAL_ORE,
             Material.IRON_ORE, Material.DEEPSLATE_IRON_ORE,
@@ -47,13 +45,13 @@ public class VeinMinerEnchant extends CustomEnchant {
     }
 
     @Override
-    public boolean canApply(ItemStack item) {
-        return item != null && item.getType().toString().endsWith("_PICKAXE");
+    public EnumSet<EnchantCapability> getCapabilities() {
+        return EnumSet.of(EnchantCapability.ON_BREAK);
     }
 
     @Override
-    public void onHit(Player player, org.bukkit.entity.LivingEntity target, int level) {
-        // Not used
+    public boolean canApply(ItemStack item) {
+        return item != null && item.getType().toString().endsWith("_PICKAXE");
     }
 
     @Override
@@ -75,7 +73,7 @@ public class VeinMinerEnchant extends CustomEnchant {
         int fortune = tool.getEnchantmentLevel(Enchantment.FORTUNE);
 
         Set<Block> vein = new HashSet<>();
-        collectVein(origin, origin.getType(), vein);
+        collectVein(origin, origin.getType(), vein, plugin.getSettings().get().enchants().veinMinerCap());
 
         for (Block block : vein) {
             Material oreType = block.getType();
@@ -90,7 +88,9 @@ public class VeinMinerEnchant extends CustomEnchant {
                 }
             }
 
-            block.getWorld().dropItemNaturally(
+            // Auto-pickup backpacks take the drop first
+            plugin.getBackpackRouter().giveOrDrop(
+                    player,
                     block.getLocation(),
                     new ItemStack(dropType, amount)
             );
@@ -149,8 +149,8 @@ public class VeinMinerEnchant extends CustomEnchant {
         return baseAmount;
     }
 
-    private void collectVein(Block block, Material type, Set<Block> collected) {
-        if (collected.size() >= VEIN_CAP) return;
+    private void collectVein(Block block, Material type, Set<Block> collected, int cap) {
+        if (collected.size() >= cap) return;
         if (collected.contains(block)) return;
         if (block.getType() != type) return;
 
@@ -160,7 +160,7 @@ public class VeinMinerEnchant extends CustomEnchant {
             for (int y = -1; y <= 1; y++) {
                 for (int z = -1; z <= 1; z++) {
                     if (x == 0 && y == 0 && z == 0) continue;
-                    collectVein(block.getRelative(x, y, z), type, collected);
+                    collectVein(block.getRelative(x, y, z), type, collected, cap);
                 }
             }
         }
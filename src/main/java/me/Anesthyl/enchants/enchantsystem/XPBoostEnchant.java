@@ -1,6 +1,5 @@
 package me.Anesthyl.enchants.enchantsystem;
 
-import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -29,16 +28,6 @@ public class XPBoostEnchant extends CustomEnchant {
         return item != null && item.getType().toString().endsWith("_HELMET");
     }
 
-    @Override
-    public void onHit(Player player, org.bukkit.entity.LivingEntity target, int level) {
-        // Not used - XP boost is passive
-    }
-
-    @Override
-    public void onBlockBreak(Player player, org.bukkit.block.Block block, int level) {
-        // Not used - XP boost is passive
-    }
-
     @Override
     public boolean canAppearOnTable() {
         return true;
@@ -203,7 +203,7 @@ public class Guidebook {
      */
     public boolean isGuidebook(ItemStack item) {
         if (item == null || !item.hasItemMeta()) return false;
-        return item.getItemMeta().getPersistentDataContainer()
+        return item.getPersistentDataContainer()
             .has(guidebookKey, org.bukkit.persistence.PersistentDataType.BYTE);
     }
 }
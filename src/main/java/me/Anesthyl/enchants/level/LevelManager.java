@@ -1,5 +1,6 @@
 package me.Anesthyl.enchants.level;
 
+import me.Anesthyl.enchants.settings.SettingsManager;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
@@ -20,6 +21,7 @@ import java.util.*;
 public class LevelManager {
     
     private final JavaPlugin plugin;
+    private final SettingsManager settings;
     private final Map<SkillType, NamespacedKey> skillLevelKeys;
     private final Map<SkillType, NamespacedKey> skillXpKeys;
     private final Map<String, PlayerLevel> playerLevels = new HashMap<>();
@@ -29,8 +31,9 @@ public class LevelManager {
     private static final int MAX_LEVEL = 100;
     private static final int BASE_XP_PER_LEVEL = 100;
     
-    public LevelManager(JavaPlugin plugin) {
+    public LevelManager(JavaPlugin plugin, SettingsManager settings) {
         this.plugin = plugin;
+        this.settings = settings;
         this.skillLevelKeys = new EnumMap<>(SkillType.class);
         this.skillXpKeys = new EnumMap<>(SkillType.class);
         
@@ -135,9 +138,22 @@ public class LevelManager {
      * Handles level-up detection and notifications.
      */
     public void addXP(Player player, SkillType skill, int amount) {
+        addScaledXP(player, skill, amount);
+    }
+
+    /**
+     * Apply the configured multiplier and award the whole XP. Fractions carry
+     * per skill (see PlayerLevel.takeWholeXP), so 1 XP at 0.5x awards 1 every
+     * second action instead of truncating to 0 every time.
+     */
+    private void addScaledXP(Player player, SkillType skill, double amount) {
+        if (amount <= 0) return;
+
         PlayerLevel pLevel = getPlayerLevel(player);
+        long whole = pLevel.takeWholeXP(skill, amount * settings.get().levels().xpMultiplier());
+        if (whole <= 0) return;
 
-        boolean leveledUp = pLevel.addXP(skill, amount, levelThresholds);
+        boolean leveledUp = pLevel.addXP(skill, whole, levelThresholds);
 
         // Level up notification
         if (leveledUp) {
@@ -154,7 +170,7 @@ public class LevelManager {
      * Add XP with a multiplier.
      */
     public void addXP(Player player, SkillType skill, int amount, double multiplier) {
-        addXP(player, skill, (int) (amount * multiplier));
+        addScaledXP(player, skill, amount * multiplier);
     }
     
     /**
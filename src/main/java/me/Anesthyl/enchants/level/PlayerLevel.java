@@ -14,6 +14,8 @@ public class PlayerLevel {
     // Store level and XP for each skill type
     private final Map<SkillType, Integer> skillLevels;
     private final Map<SkillType, Long> skillXP;
+    // Fractions left over from multiplied XP awards; not persisted
+    private final Map<SkillType, Double> xpRemainders = new EnumMap<>(SkillType.class);
     
     public PlayerLevel() {
         this.skillLevels = new EnumMap<>(SkillType.class);
@@ -79,6 +81,17 @@ public class PlayerLevel {
         return oldLevel != getLevel(skill);
     }
 
+    /**
+     * Add a possibly fractional award to the skill's carried remainder and
+     * return the whole XP it now covers; the rest carries to the next award.
+     */
+    protected long takeWholeXP(SkillType skill, double amount) {
+        double total = xpRemainders.getOrDefault(skill, 0.0) + amount;
+        long whole = (long) Math.floor(total);
+        xpRemainders.put(skill, total - whole);
+        return whole;
+    }
+
     /**
      * Recalculate level for a specific skill based on total XP.
      * Should be called by LevelManager after XP changes.
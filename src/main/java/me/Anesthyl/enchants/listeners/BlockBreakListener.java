@@ -1,6 +1,7 @@
 package me.Anesthyl.enchants.listeners;
 
 import me.Anesthyl.enchants.enchantsystem.CustomEnchant;
+import me.Anesthyl.enchants.enchantsystem.EnchantCapability;
 import me.Anesthyl.enchants.enchantsystem.EnchantManager;
 import me.Anesthyl.enchants.enchantsystem.XPBoostEnchant;
 import me.Anesthyl.enchants.level.LevelManager;
@@ -18,6 +19,7 @@ import java.util.Map;
  *
  * Dev Notes:
  * - Central dispatcher for all custom enchant block-break behavior.
+ * - Only enchants declaring EnchantCapability.ON_BREAK are called.
  * - DOES NOT cancel the BlockBreakEvent globally.
  * - Each enchant is responsible for:
  *   - Deciding whether it applies
@@ -70,9 +72,10 @@ public class BlockBreakListener implements Listener {
             levelManager.addWoodCuttingXP(player, xpMultiplier);
         }
 
-        // Fetch all custom enchants on the tool
-        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(tool);
-        if (enchants.isEmpty()) return;
+        // Most tools carry no break enchant - one bitmask test and done
+        if (!enchantManager.hasCapability(tool, EnchantCapability.ON_BREAK)) return;
+
+        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(tool, EnchantCapability.ON_BREAK);
 
         /*
          * IMPORTANT:
@@ -1,13 +1,20 @@
 package me.Anesthyl.enchants.listeners;
 
 import me.Anesthyl.enchants.enchantsystem.CustomEnchant;
+import me.Anesthyl.enchants.enchantsystem.EnchantCapability;
 import me.Anesthyl.enchants.enchantsystem.EnchantManager;
+import me.Anesthyl.enchants.enchantsystem.ProcEngine;
 import me.Anesthyl.enchants.level.LevelManager;
 import me.Anesthyl.enchants.level.SkillType;
+import me.Anesthyl.enchants.stat.CombatProfile;
+import me.Anesthyl.enchants.stat.StatManager;
 import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -15,26 +22,97 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Melee combat: stat-driven damage pipeline, enchant hit hooks and combat XP.
+ *
+ * Dev Notes:
+ * - Stat pipeline order on a melee hit:
+ *   1. attacker damage multiplier
+ *   2. crit roll (attacker crit chance, then crit multiplier)
+ *   3. defender defense multiplier
+ *   4. attacker lifesteal, from the final damage (MONITOR, after armor)
+ * - Stats come from each player's CombatProfile snapshot, so a hit is a
+ *   few field reads; players without bonuses use the neutral profile.
+ * - Enchant onHit hooks go through ProcEngine (cooldowns, chances and a
+ *   per-tick budget).
+ */
 public class CombatListener implements Listener {
 
     private final EnchantManager enchantManager;
     private final LevelManager levelManager;
+    private final StatManager statManager;
+    private final ProcEngine procEngine;
 
-    public CombatListener(EnchantManager enchantManager, LevelManager levelManager) {
+    public CombatListener(EnchantManager enchantManager, LevelManager levelManager, StatManager statManager,
+                          ProcEngine procEngine) {
         this.enchantManager = enchantManager;
         this.levelManager = levelManager;
+        this.statManager = statManager;
+        this.procEngine = procEngine;
     }
 
-    @EventHandler
+    // ------------------------------
+    // Stat Pipeline
+    // ------------------------------
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onStatDamage(EntityDamageByEntityEvent event) {
+        if (!isMelee(event)) return;
+
+        double damage = event.getDamage();
+
+        if (event.getDamager() instanceof Player attacker) {
+            CombatProfile profile = statManager.getCombatProfile(attacker);
+            damage *= profile.damageMultiplier();
+            if (profile.critChance() > 0 && ThreadLocalRandom.current().nextDouble() < profile.critChance()) {
+                damage *= profile.critMultiplier();
+            }
+        }
+
+        if (event.getEntity() instanceof Player defender) {
+            damage *= statManager.getCombatProfile(defender).defenseMultiplier();
+        }
+
+        if (damage != event.getDamage()) {
+            event.setDamage(damage);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStatLifesteal(EntityDamageByEntityEvent event) {
+        if (!isMelee(event)) return;
+        if (!(event.getDamager() instanceof Player attacker)) return;
+
+        double lifesteal = statManager.getCombatProfile(attacker).lifesteal();
+        if (lifesteal <= 0 || attacker.isDead()) return;
+
+        AttributeInstance maxHealth = attacker.getAttribute(Attribute.MAX_HEALTH);
+        double max = maxHealth != null ? maxHealth.getValue() : 20.0;
+        attacker.setHealth(Math.min(attacker.getHealth() + event.getFinalDamage() * lifesteal, max));
+    }
+
+    private boolean isMelee(EntityDamageByEntityEvent event) {
+        EntityDamageEvent.DamageCause cause = event.getCause();
+        return cause == EntityDamageEvent.DamageCause.ENTITY_ATTACK
+                || cause == EntityDamageEvent.DamageCause.ENTITY_SWEEP_ATTACK;
+    }
+
+    // ------------------------------
+    // Enchant Hooks & XP
+    // ------------------------------
+
+    @EventHandler(ignoreCancelled = true)
     public void onHit(EntityDamageByEntityEvent event) {
         if (!(event.getDamager() instanceof Player player)) return;
         if (!(event.getEntity() instanceof LivingEntity target)) return;
 
         ItemStack weapon = player.getInventory().getItemInMainHand();
-        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(weapon);
+        if (!enchantManager.hasCapability(weapon, EnchantCapability.ON_HIT)) return;
 
-        enchants.forEach((enchant, level) -> enchant.onHit(player, target, level));
+        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(weapon, EnchantCapability.ON_HIT);
+        procEngine.onHit(player, target, enchants);
     }
     
     @EventHandler
@@ -1,15 +1,15 @@
 package me.Anesthyl.enchants.listeners;
 
-import me.Anesthyl.enchants.enchantsystem.CustomEnchant;
-import me.Anesthyl.enchants.enchantsystem.DonaldJumpEnchant;
-import me.Anesthyl.enchants.enchantsystem.EnchantManager;
+import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerToggleFlightEvent;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
 import java.util.HashMap;
@@ -21,70 +21,60 @@ import java.util.UUID;
  *
  * Uses flight detection to register air jumps (spacebar double-tap).
  * Level 1 = 1 extra jump, Level 2 = 2 extra jumps, Level 3 = 3 extra jumps
+ *
+ * Dev Notes:
+ * - Per-player state machine: GROUNDED -> AIRBORNE (charges left) -> EXHAUSTED,
+ *   back to GROUNDED on landing. setAllowFlight() is only called on transitions.
+ * - Movement updates come from MovementDispatcher (block or ground changes,
+ *   boots level from its equipment snapshot), so nothing runs per move here.
+ * - Flight we didn't grant (other plugins, /fly) is never touched: we only
+ *   enable flight if it was off, and only take back flight we enabled.
+ *   Granted flight is also taken back on quit, death and plugin disable.
  */
 public class DonaldJumpListener implements Listener {
 
-    private final EnchantManager enchantManager;
-    private final Map<UUID, Integer> jumpCounts = new HashMap<>();
+    private enum State { GROUNDED, AIRBORNE, EXHAUSTED }
 
-    public DonaldJumpListener(EnchantManager enchantManager) {
-        this.enchantManager = enchantManager;
+    private static final class JumpState {
+        State state = State.GROUNDED;
+        int level;
+        int jumps;
+        boolean grantedFlight; // true while allowFlight is on because of us
     }
 
+    private final Map<UUID, JumpState> states = new HashMap<>();
+
     /**
-     * Enable flight when player is in air with Donald Jump boots.
-     * This allows detection of spacebar double-tap.
+     * Advance the player's jump state. Called by MovementDispatcher on
+     * block/ground changes; level 0 means the boots just lost the enchant.
      */
-    @EventHandler
-    public void onPlayerMove(org.bukkit.event.player.PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Skip if in creative/spectator
-        if (player.getGameMode() == GameMode.CREATIVE || player.getGameMode() == GameMode.SPECTATOR) {
-            return;
-        }
-
-        // Check if player has Donald Jump boots
-        ItemStack boots = player.getInventory().getBoots();
-        if (boots == null) {
-            player.setAllowFlight(false);
+    public void onMove(Player player, int donaldJumpLevel) {
+        if (donaldJumpLevel == 0 || isFlightMode(player)) {
+            JumpState jump = states.remove(player.getUniqueId());
+            // Gamemode changes reset abilities themselves
+            if (jump != null) revokeFlight(player, jump);
             return;
         }
 
-        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(boots);
-
-        // Find Donald Jump enchant and get level
-        int donaldJumpLevel = 0;
-        for (var entry : enchants.entrySet()) {
-            if (entry.getKey() instanceof DonaldJumpEnchant) {
-                donaldJumpLevel = entry.getValue();
-                break;
-            }
-        }
+        JumpState jump = states.computeIfAbsent(player.getUniqueId(), k -> new JumpState());
+        jump.level = donaldJumpLevel;
 
-        if (donaldJumpLevel == 0) {
-            player.setAllowFlight(false);
-            jumpCounts.remove(playerId);
-            return;
-        }
-
-        // Reset jump count when on ground
         if (player.isOnGround()) {
-            jumpCounts.remove(playerId);
-            player.setAllowFlight(false);
+            if (jump.state != State.GROUNDED) {
+                jump.state = State.GROUNDED;
+                jump.jumps = 0;
+                revokeFlight(player, jump);
+            }
             return;
         }
 
-        // Enable flight in air (allows double-tap spacebar detection)
-        int currentJumps = jumpCounts.getOrDefault(playerId, 0);
-        int maxJumps = donaldJumpLevel;
-
-        // Only allow flight if jumps remaining
-        if (currentJumps < maxJumps) {
-            player.setAllowFlight(true);
-        } else {
-            player.setAllowFlight(false);
+        if (jump.state == State.GROUNDED) {
+            jump.state = State.AIRBORNE;
+            // Enable flight in air (allows double-tap spacebar detection)
+            if (!player.getAllowFlight()) {
+                player.setAllowFlight(true);
+                jump.grantedFlight = true;
+            }
         }
     }
 
@@ -94,63 +84,78 @@ public class DonaldJumpListener implements Listener {
     @EventHandler
     public void onPlayerToggleFlight(PlayerToggleFlightEvent event) {
         Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Only handle survival/adventure mode
-        if (player.getGameMode() == GameMode.CREATIVE || player.getGameMode() == GameMode.SPECTATOR) {
-            return;
-        }
-
-        // Check if player has Donald Jump boots
-        ItemStack boots = player.getInventory().getBoots();
-        if (boots == null) return;
-
-        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(boots);
-
-        // Find Donald Jump enchant and get level
-        int donaldJumpLevel = 0;
-        for (var entry : enchants.entrySet()) {
-            if (entry.getKey() instanceof DonaldJumpEnchant) {
-                donaldJumpLevel = entry.getValue();
-                break;
-            }
-        }
-
-        if (donaldJumpLevel == 0) return;
+        if (!event.isFlying() || isFlightMode(player)) return;
 
-        // Must be in air
-        if (player.isOnGround()) return;
+        // Only flight toggles enabled by us are jumps
+        JumpState jump = states.get(player.getUniqueId());
+        if (jump == null || !jump.grantedFlight || jump.state != State.AIRBORNE) return;
 
         // Cancel actual flight
         event.setCancelled(true);
 
-        // Check jump count
-        int currentJumps = jumpCounts.getOrDefault(playerId, 0);
-        int maxJumps = donaldJumpLevel;
-
-        if (currentJumps >= maxJumps) return;
-
-        // Perform air jump
-        jumpCounts.put(playerId, currentJumps + 1);
+        int currentJumps = jump.jumps++;
 
         // Apply jump boost
         Vector velocity = player.getVelocity();
         velocity.setY(0.6); // Strong upward boost
 
         // Add forward momentum in look direction
-        Vector direction = player.getLocation().getDirection();
-        Vector horizontalMomentum = direction.clone().setY(0).normalize().multiply(0.2);
-        velocity.add(horizontalMomentum);
+        Vector direction = player.getLocation().getDirection().setY(0);
+        if (direction.lengthSquared() > 1.0E-4) {
+            velocity.add(direction.normalize().multiply(0.2));
+        }
 
         player.setVelocity(velocity);
 
-        // Disable flight if max jumps reached
-        if (currentJumps + 1 >= maxJumps) {
-            player.setAllowFlight(false);
+        // Out of charges until landing
+        if (jump.jumps >= jump.level) {
+            jump.state = State.EXHAUSTED;
+            revokeFlight(player, jump);
         }
 
         // Play sound effect with pitch variation
         float pitch = 1.5f + (currentJumps * 0.2f);
         player.playSound(player.getLocation(), Sound.ENTITY_ENDER_DRAGON_FLAP, 0.5f, pitch);
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        removePlayer(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        // Respawn starts grounded; drop anything left from before death
+        removePlayer(event.getPlayer());
+    }
+
+    /**
+     * Drop the player's state, taking back flight we granted.
+     */
+    public void removePlayer(Player player) {
+        JumpState jump = states.remove(player.getUniqueId());
+        if (jump != null) revokeFlight(player, jump);
+    }
+
+    /**
+     * Take back all flight we granted (plugin disable).
+     */
+    public void shutdown() {
+        for (Map.Entry<UUID, JumpState> entry : states.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) revokeFlight(player, entry.getValue());
+        }
+        states.clear();
+    }
+
+    private void revokeFlight(Player player, JumpState jump) {
+        if (!jump.grantedFlight) return;
+        jump.grantedFlight = false;
+        if (isFlightMode(player)) return; // creative/spectator keep their own flight
+        player.setAllowFlight(false);
+    }
+
+    private static boolean isFlightMode(Player player) {
+        return player.getGameMode() == GameMode.CREATIVE || player.getGameMode() == GameMode.SPECTATOR;
+    }
 }
@@ -62,6 +62,7 @@ public class GrindstoneListener implements Listener {
         for (CustomEnchant enchant : customEnchants.keySet()) {
             meta.getPersistentDataContainer().remove(enchant.getKey());
         }
+        enchantManager.updateCapabilities(meta);
 
         // Remove all vanilla enchants
         for (org.bukkit.enchantments.Enchantment enchant : meta.getEnchants().keySet()) {
@@ -121,10 +122,8 @@ public class GrindstoneListener implements Listener {
         }
 
         // Add vanilla enchant levels
-        if (input.hasItemMeta() && input.getItemMeta() != null) {
-            for (Integer level : input.getItemMeta().getEnchants().values()) {
-                totalLevels += level;
-            }
+        for (Integer level : input.getEnchantments().values()) {
+            totalLevels += level;
         }
 
         // Drop XP orbs at grindstone location (handled by vanilla for normal enchants,
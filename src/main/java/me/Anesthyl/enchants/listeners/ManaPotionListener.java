@@ -1,5 +1,6 @@
 package me.Anesthyl.enchants.listeners;
 
+import me.Anesthyl.enchants.settings.SettingsManager;
 import me.Anesthyl.enchants.spell.ManaManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -18,10 +19,11 @@ import org.bukkit.potion.PotionType;
  */
 public class ManaPotionListener implements Listener {
     private final ManaManager manaManager;
-    private static final double MANA_RESTORE_AMOUNT = 50.0;
+    private final SettingsManager settings;
 
-    public ManaPotionListener(ManaManager manaManager) {
+    public ManaPotionListener(ManaManager manaManager, SettingsManager settings) {
         this.manaManager = manaManager;
+        this.settings = settings;
     }
 
     @EventHandler
@@ -42,13 +44,14 @@ public class ManaPotionListener implements Listener {
             Component displayName = meta.displayName();
             if (displayName != null && isManaPotion(displayName)) {
                 // Restore mana
-                manaManager.addMana(player, MANA_RESTORE_AMOUNT);
+                double restored = settings.get().mana().potionRestore();
+                manaManager.addMana(player, restored);
 
                 // Send feedback message
                 player.sendMessage(
                     Component.text("✦ ", NamedTextColor.AQUA)
                         .append(Component.text("Restored ", NamedTextColor.GRAY))
-                        .append(Component.text(String.format("%.0f", MANA_RESTORE_AMOUNT), NamedTextColor.AQUA))
+                        .append(Component.text(String.format("%.0f", restored), NamedTextColor.AQUA))
                         .append(Component.text(" mana!", NamedTextColor.GRAY))
                 );
             }
@@ -0,0 +1,154 @@
+package me.Anesthyl.enchants.listeners;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import me.Anesthyl.enchants.enchantsystem.CustomEnchant;
+import me.Anesthyl.enchants.enchantsystem.DonaldJumpEnchant;
+import me.Anesthyl.enchants.enchantsystem.EnchantCapability;
+import me.Anesthyl.enchants.enchantsystem.EnchantManager;
+import me.Anesthyl.enchants.enchantsystem.LavaWalkerEnchant;
+import me.Anesthyl.enchants.teleport.TeleportService;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The only PlayerMoveEvent handler for movement-driven features.
+ *
+ * Dev Notes:
+ * - Each move is classified once: rotation-only moves return immediately,
+ *   the rest get MOVE_* flags (position, block change, ground change).
+ * - Boots enchants come from a per-player snapshot that is rebuilt only
+ *   after the boots change (PlayerArmorChangeEvent), never per move.
+ * - Fan-out:
+ *   - Lava Walker: block changes, when the boots have it.
+ *   - Donald Jump: block or ground changes, when the boots have it.
+ *   - Agility XP: any position change while sprinting.
+ *   - Warp warmups: block changes of moves no other handler cancelled.
+ * - Cancelled moves are still dispatched to the enchants and skills, as
+ *   their old per-feature listeners were; only warmup cancellation
+ *   ignores them, since the player didn't actually move.
+ */
+public class MovementDispatcher implements Listener {
+
+    private static final int MOVE_POSITION = 1;       // moved, maybe within the same block
+    private static final int MOVE_BLOCK = 1 << 1;     // entered a different block
+    private static final int MOVE_GROUND = 1 << 2;    // landed or left the ground
+
+    private final EnchantManager enchantManager;
+    private final DonaldJumpListener donaldJump;
+    private final SkillListener skills;
+    private final TeleportService teleportService;
+
+    private final Map<UUID, Snapshot> snapshots = new HashMap<>();
+
+    /**
+     * Movement-relevant equipment and the last seen ground state.
+     */
+    private static final class Snapshot {
+        boolean dirty = true;
+        boolean onGround = true;
+        LavaWalkerEnchant lavaWalker;
+        int lavaWalkerLevel;
+        int donaldJumpLevel;
+    }
+
+    public MovementDispatcher(EnchantManager enchantManager, DonaldJumpListener donaldJump, SkillListener skills,
+                              TeleportService teleportService) {
+        this.enchantManager = enchantManager;
+        this.donaldJump = donaldJump;
+        this.skills = skills;
+        this.teleportService = teleportService;
+    }
+
+    @EventHandler
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (!event.hasChangedPosition()) return; // head turn only
+
+        Player player = event.getPlayer();
+        Snapshot snapshot = snapshot(player);
+
+        int flags = MOVE_POSITION;
+        if (event.hasChangedBlock()) flags |= MOVE_BLOCK;
+
+        boolean onGround = player.isOnGround();
+        if (onGround != snapshot.onGround) {
+            snapshot.onGround = onGround;
+            flags |= MOVE_GROUND;
+        }
+
+        if (snapshot.lavaWalkerLevel > 0 && (flags & MOVE_BLOCK) != 0) {
+            snapshot.lavaWalker.onPlayerMove(event, snapshot.lavaWalkerLevel);
+        }
+
+        if (snapshot.donaldJumpLevel > 0 && (flags & (MOVE_BLOCK | MOVE_GROUND)) != 0) {
+            donaldJump.onMove(player, snapshot.donaldJumpLevel);
+        }
+
+        if (player.isSprinting()) {
+            skills.onSprintMove(event);
+        }
+
+        if ((flags & MOVE_BLOCK) != 0 && !event.isCancelled()) {
+            teleportService.onBlockMove(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        if (event.getSlot() != EquipmentSlot.FEET) return;
+
+        Snapshot snapshot = snapshots.get(event.getPlayer().getUniqueId());
+        if (snapshot != null) snapshot.dirty = true;
+    }
+
+    public void removePlayer(Player player) {
+        Snapshot snapshot = snapshots.remove(player.getUniqueId());
+        if (snapshot != null && snapshot.lavaWalker != null) snapshot.lavaWalker.removePlayer(player);
+        donaldJump.removePlayer(player);
+    }
+
+    // ------------------------------
+    // Equipment Snapshot
+    // ------------------------------
+
+    private Snapshot snapshot(Player player) {
+        Snapshot snapshot = snapshots.computeIfAbsent(player.getUniqueId(), k -> new Snapshot());
+        if (!snapshot.dirty) return snapshot;
+
+        snapshot.dirty = false;
+        int previousDonaldJump = snapshot.donaldJumpLevel;
+        LavaWalkerEnchant previousLavaWalker = snapshot.lavaWalker;
+        snapshot.lavaWalker = null;
+        snapshot.lavaWalkerLevel = 0;
+        snapshot.donaldJumpLevel = 0;
+
+        Map<CustomEnchant, Integer> enchants =
+                enchantManager.getItemEnchants(player.getInventory().getBoots(), EnchantCapability.ON_MOVE);
+        for (Map.Entry<CustomEnchant, Integer> entry : enchants.entrySet()) {
+            if (entry.getKey() instanceof LavaWalkerEnchant lavaWalker) {
+                snapshot.lavaWalker = lavaWalker;
+                snapshot.lavaWalkerLevel = entry.getValue();
+            } else if (entry.getKey() instanceof DonaldJumpEnchant) {
+                snapshot.donaldJumpLevel = entry.getValue();
+            }
+        }
+
+        // Boots lost Lava Walker - drop its footprint
+        if (previousLavaWalker != null && snapshot.lavaWalker == null) {
+            previousLavaWalker.removePlayer(player);
+        }
+
+        // Boots lost Donald Jump - let it clean up once
+        if (previousDonaldJump > 0 && snapshot.donaldJumpLevel == 0) {
+            donaldJump.onMove(player, 0);
+        }
+        return snapshot;
+    }
+}
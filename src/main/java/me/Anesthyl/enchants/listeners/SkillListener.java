@@ -2,6 +2,8 @@ package me.Anesthyl.enchants.listeners;
 
 import me.Anesthyl.enchants.level.LevelManager;
 import me.Anesthyl.enchants.level.SkillType;
+import me.Anesthyl.enchants.util.EntitySpatialIndex;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Arrow;
 import org.bukkit.entity.LivingEntity;
@@ -22,9 +24,11 @@ import org.bukkit.inventory.ItemStack;
 public class SkillListener implements Listener {
 
     private final LevelManager levelManager;
+    private final EntitySpatialIndex entityIndex;
 
-    public SkillListener(LevelManager levelManager) {
+    public SkillListener(LevelManager levelManager, EntitySpatialIndex entityIndex) {
         this.levelManager = levelManager;
+        this.entityIndex = entityIndex;
     }
 
     /**
@@ -126,18 +130,10 @@ public class SkillListener implements Listener {
     public void onBrew(BrewEvent event) {
         // Try to find the player who initiated the brewing
         // Note: Bukkit doesn't track who started brewing, so we award XP to nearby players
-        if (event.getBlock().getWorld().getNearbyEntities(
-            event.getBlock().getLocation(), 5, 5, 5,
-            entity -> entity instanceof Player).isEmpty()) {
-            return;
-        }
-        
         // Get the closest player to the brewing stand
-        Player player = (Player) event.getBlock().getWorld().getNearbyEntities(
-            event.getBlock().getLocation(), 5, 5, 5,
-            entity -> entity instanceof Player
-        ).stream().findFirst().orElse(null);
-        
+        Location stand = event.getBlock().getLocation().add(0.5, 0.5, 0.5);
+        Player player = entityIndex.nearestPlayer(stand.getWorld(), stand.getX(), stand.getY(), stand.getZ(), 5);
+
         if (player == null) return;
         
         // Award XP for brewing (multiply by number of potions being brewed)
@@ -155,14 +151,11 @@ public class SkillListener implements Listener {
     /**
      * Agility XP - awarded when sprinting
      * (Uses a simple distance-based calculation)
+     * Called by MovementDispatcher for sprinting players.
      */
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
+    public void onSprintMove(PlayerMoveEvent event) {
         Player player = event.getPlayer();
-        
-        // Only award XP if player is sprinting
-        if (!player.isSprinting()) return;
-        
+
         // Only award XP if player moved a reasonable distance (prevents standing still spam)
         if (event.getFrom().distance(event.getTo()) < 0.5) return;
         
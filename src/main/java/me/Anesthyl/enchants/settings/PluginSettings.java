@@ -0,0 +1,162 @@
+package me.Anesthyl.enchants.settings;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+
+import java.util.List;
+
+/**
+ * Immutable, typed view of config.yml.
+ *
+ * Dev Notes:
+ * - Parsed and validated once per (re)load by SettingsManager; hot paths
+ *   only ever read record fields, never the YAML tree.
+ * - Invalid or out-of-range values fall back to the default and are
+ *   reported in the problems list, so a typo never half-applies.
+ * - Defaults here match the config.yml shipped in the jar.
+ */
+public record PluginSettings(
+        EnchantSettings enchants,
+        SpellSettings spells,
+        ManaSettings mana,
+        LevelSettings levels,
+        BackpackSettings backpacks,
+        WarpSettings warps
+) {
+
+    public static final PluginSettings DEFAULTS = parse(new MemoryConfiguration(), null);
+
+    public record EnchantSettings(
+            int lavaWalkerRadiusPerLevel,   // footprint radius added per Lava Walker level
+            long lavaWalkerRevertTicks,     // ticks before converted obsidian turns back into lava
+            int veinMinerCap,               // max extra blocks one Vein Miner break can take
+            int procsPerTick                // max on-hit procs across all players per tick
+    ) {}
+
+    public record SpellSettings(
+            int particleTickBudget,         // particles sent to all viewers per tick
+            int particleChunkBudget         // particles emitted in one chunk per tick
+    ) {}
+
+    public record ManaSettings(
+            double maxMana,
+            double regenPerSecond,
+            long barHideTicks,              // ticks without mana use before the bar hides
+            double potionRestore            // mana restored by one mana potion
+    ) {}
+
+    public record LevelSettings(
+            double xpMultiplier             // applied to every skill XP award
+    ) {}
+
+    public record BackpackSettings(
+            boolean autoPickup              // route pickups into auto-pickup backpacks
+    ) {}
+
+    public record WarpSettings(
+            long warmupTicks,
+            int cooldownTicks,
+            int landingSearchRadius         // blocks searched up/down for a safe landing
+    ) {}
+
+    // ------------------------------
+    // Parsing
+    // ------------------------------
+
+    /**
+     * Build settings from a config section. Every bad value is replaced by
+     * its default and described in problems (if not null).
+     */
+    public static PluginSettings parse(ConfigurationSection config, List<String> problems) {
+        Reader in = new Reader(config, problems);
+
+        return new PluginSettings(
+                new EnchantSettings(
+                        in.intAt("enchants.lava-walker.radius-per-level", "lava-walker.radius-per-level", 1, 0, 8),
+                        in.longAt("enchants.lava-walker.revert-ticks", 100L, 20L, 6000L),
+                        in.intAt("enchants.vein-miner.max-blocks", 64, 1, 512),
+                        in.intAt("enchants.procs-per-tick", 100, 1, 10000)
+                ),
+                new SpellSettings(
+                        in.intAt("spells.particles.tick-budget", 4000, 0, 100000),
+                        in.intAt("spells.particles.chunk-budget", 800, 0, 100000)
+                ),
+                new ManaSettings(
+                        in.doubleAt("mana.max", 100.0, 1.0, 10000.0),
+                        in.doubleAt("mana.regen-per-second", 2.0, 0.0, 10000.0),
+                        in.longAt("mana.bar-hide-ticks", 2400L, 20L, 72000L),
+                        in.doubleAt("mana.potion-restore", 50.0, 0.0, 10000.0)
+                ),
+                new LevelSettings(
+                        in.doubleAt("levels.xp-multiplier", 1.0, 0.0, 100.0)
+                ),
+                new BackpackSettings(
+                        in.booleanAt("backpacks.auto-pickup", true)
+                ),
+                new WarpSettings(
+                        in.longAt("warps.warmup-ticks", 60L, 0L, 1200L),
+                        in.intAt("warps.cooldown-ticks", 200, 0, 72000),
+                        in.intAt("warps.landing-search-radius", 8, 0, 64)
+                )
+        );
+    }
+
+    /**
+     * Typed, range-checked reads that record problems instead of throwing.
+     */
+    private record Reader(ConfigurationSection config, List<String> problems) {
+
+        int intAt(String path, int def, int min, int max) {
+            if (!config.contains(path)) return def;
+            if (!config.isInt(path)) return invalid(path, "a whole number", def);
+            return inRange(path, config.getInt(path), min, max, def);
+        }
+
+        /**
+         * Like intAt, but falls back to a pre-settings path (reported as
+         * moved) when the file only has the old key.
+         */
+        int intAt(String path, String legacyPath, int def, int min, int max) {
+            if (!config.contains(path, true) && config.contains(legacyPath, true)) {
+                report(legacyPath + " has moved to " + path + ", please update config.yml");
+                return intAt(legacyPath, def, min, max);
+            }
+            return intAt(path, def, min, max);
+        }
+
+        long longAt(String path, long def, long min, long max) {
+            if (!config.contains(path)) return def;
+            if (!config.isInt(path) && !config.isLong(path)) return invalid(path, "a whole number", def);
+            return inRange(path, config.getLong(path), min, max, def);
+        }
+
+        double doubleAt(String path, double def, double min, double max) {
+            if (!config.contains(path)) return def;
+            if (!config.isDouble(path) && !config.isInt(path) && !config.isLong(path)) {
+                return invalid(path, "a number", def);
+            }
+            return inRange(path, config.getDouble(path), min, max, def);
+        }
+
+        boolean booleanAt(String path, boolean def) {
+            if (!config.contains(path)) return def;
+            if (!config.isBoolean(path)) return invalid(path, "true or false", def);
+            return config.getBoolean(path);
+        }
+
+        private <T extends Comparable<T>> T inRange(String path, T value, T min, T max, T def) {
+            if (value.compareTo(min) >= 0 && value.compareTo(max) <= 0) return value;
+            report(path + " must be between " + min + " and " + max + " (was " + value + "), using " + def);
+            return def;
+        }
+
+        private <T> T invalid(String path, String expected, T def) {
+            report(path + " must be " + expected + " (was '" + config.get(path) + "'), using " + def);
+            return def;
+        }
+
+        private void report(String problem) {
+            if (problems != null) problems.add(problem);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package me.Anesthyl.enchants.settings;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current PluginSettings snapshot.
+ *
+ * Dev Notes:
+ * - config.yml is parsed into a new immutable PluginSettings and published
+ *   with a single reference swap, so readers see either the old or the new
+ *   settings, never a mix.
+ * - Readers call get() each time they need a value instead of caching the
+ *   snapshot, so /enchants reload takes effect immediately.
+ * - If config.yml can't be read at all, the previous snapshot stays live.
+ */
+public class SettingsManager {
+
+    private final JavaPlugin plugin;
+    private final AtomicReference<PluginSettings> current = new AtomicReference<>(PluginSettings.DEFAULTS);
+
+    public SettingsManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        plugin.saveDefaultConfig();
+        reload();
+    }
+
+    public PluginSettings get() {
+        return current.get();
+    }
+
+    /**
+     * Re-read config.yml and swap in the new settings.
+     *
+     * @return problems found while validating (empty if none)
+     */
+    public List<String> reload() {
+        List<String> problems = new ArrayList<>();
+        try {
+            plugin.reloadConfig(); // keeps the jar's config.yml as defaults
+            current.set(PluginSettings.parse(plugin.getConfig(), problems));
+        } catch (RuntimeException e) {
+            problems.add("config.yml could not be loaded, keeping previous settings: " + e.getMessage());
+        }
+
+        for (String problem : problems) {
+            plugin.getLogger().warning("config.yml: " + problem);
+        }
+        return problems;
+    }
+}
@@ -1,5 +1,7 @@
 package me.Anesthyl.enchants.spell;
 
+import me.Anesthyl.enchants.settings.PluginSettings;
+import me.Anesthyl.enchants.settings.SettingsManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.bossbar.BossBar;
@@ -17,17 +19,16 @@ import java.util.UUID;
  */
 public class ManaManager {
     private final JavaPlugin plugin;
+    private final SettingsManager settings;
     private final Map<UUID, PlayerMana> playerManaMap = new HashMap<>();
     private BukkitTask regenTask;
 
-    // Mana constants
-    private static final double MAX_MANA = 100.0;
-    private static final double MANA_REGEN_RATE = 2.0; // Mana per second
+    // Mana constants (max, regen and hide delay come from config.yml)
     private static final int REGEN_INTERVAL = 20; // Ticks (1 second)
-    private static final long HIDE_DELAY = 2400L; // 2 minutes in ticks (120 seconds * 20 ticks)
 
-    public ManaManager(JavaPlugin plugin) {
+    public ManaManager(JavaPlugin plugin, SettingsManager settings) {
         this.plugin = plugin;
+        this.settings = settings;
         startManaRegeneration();
     }
 
@@ -36,7 +37,7 @@ public class ManaManager {
      */
     public PlayerMana getPlayerMana(Player player) {
         return playerManaMap.computeIfAbsent(player.getUniqueId(), uuid -> {
-            PlayerMana mana = new PlayerMana(player);
+            PlayerMana mana = new PlayerMana(player, settings.get().mana().maxMana());
             // Don't show immediately - will show on first mana use
             return mana;
         });
@@ -49,24 +50,33 @@ public class ManaManager {
         return getPlayerMana(player).getCurrentMana();
     }
 
+    /**
+     * Current max mana (from config.yml).
+     */
+    public double getMaxMana() {
+        return settings.get().mana().maxMana();
+    }
+
     /**
      * Sets mana for a player.
      */
     public void setMana(Player player, double amount) {
+        PluginSettings.ManaSettings config = settings.get().mana();
         PlayerMana mana = getPlayerMana(player);
-        mana.setCurrentMana(Math.max(0, Math.min(MAX_MANA, amount)));
-        mana.updateBossBar();
-        mana.resetHideTimer(plugin, HIDE_DELAY);
+        mana.setCurrentMana(Math.max(0, Math.min(config.maxMana(), amount)));
+        mana.updateBossBar(config.maxMana());
+        mana.resetHideTimer(plugin, config.barHideTicks());
     }
 
     /**
      * Adds mana to a player.
      */
     public void addMana(Player player, double amount) {
+        PluginSettings.ManaSettings config = settings.get().mana();
         PlayerMana mana = getPlayerMana(player);
-        mana.setCurrentMana(Math.max(0, Math.min(MAX_MANA, mana.getCurrentMana() + amount)));
-        mana.updateBossBar();
-        mana.resetHideTimer(plugin, HIDE_DELAY);
+        mana.setCurrentMana(Math.max(0, Math.min(config.maxMana(), mana.getCurrentMana() + amount)));
+        mana.updateBossBar(config.maxMana());
+        mana.resetHideTimer(plugin, config.barHideTicks());
     }
 
     /**
@@ -76,9 +86,10 @@ public class ManaManager {
         PlayerMana mana = getPlayerMana(player);
         double current = mana.getCurrentMana();
         if (current >= amount) {
+            PluginSettings.ManaSettings config = settings.get().mana();
             mana.setCurrentMana(current - amount);
-            mana.updateBossBar();
-            mana.resetHideTimer(plugin, HIDE_DELAY);
+            mana.updateBossBar(config.maxMana());
+            mana.resetHideTimer(plugin, config.barHideTicks());
             return true;
         }
         return false;
@@ -106,10 +117,16 @@ public class ManaManager {
      */
     private void startManaRegeneration() {
         regenTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            PluginSettings.ManaSettings config = settings.get().mana();
+            double regen = config.regenPerSecond() * REGEN_INTERVAL / 20.0;
             for (PlayerMana mana : playerManaMap.values()) {
-                if (mana.getCurrentMana() < MAX_MANA) {
-                    mana.setCurrentMana(Math.min(MAX_MANA, mana.getCurrentMana() + MANA_REGEN_RATE));
-                    mana.updateBossBar();
+                if (mana.getCurrentMana() < config.maxMana()) {
+                    mana.setCurrentMana(Math.min(config.maxMana(), mana.getCurrentMana() + regen));
+                    mana.updateBossBar(config.maxMana());
+                } else if (mana.getCurrentMana() > config.maxMana()) {
+                    // Max was lowered by a reload
+                    mana.setCurrentMana(config.maxMana());
+                    mana.updateBossBar(config.maxMana());
                 }
             }
         }, REGEN_INTERVAL, REGEN_INTERVAL);
@@ -138,9 +155,9 @@ public class ManaManager {
         private BukkitTask hideTask;
         private boolean isVisible;
 
-        public PlayerMana(Player player) {
+        public PlayerMana(Player player, double maxMana) {
             this.player = player;
-            this.currentMana = MAX_MANA;
+            this.currentMana = maxMana;
             this.isVisible = false;
             createBossBar();
         }
@@ -184,9 +201,9 @@ public class ManaManager {
             hideTask = Bukkit.getScheduler().runTaskLater(plugin, this::hideBossBar, delay);
         }
 
-        public void updateBossBar() {
+        public void updateBossBar(double maxMana) {
             if (bossBar != null) {
-                float progress = (float) (currentMana / MAX_MANA);
+                float progress = (float) (currentMana / maxMana);
                 bossBar.progress(Math.max(0.0f, Math.min(1.0f, progress)));
 
                 // Change color based on mana level
@@ -205,7 +222,7 @@ public class ManaManager {
                                 .color(NamedTextColor.WHITE))
                         .append(Component.text("/")
                                 .color(NamedTextColor.GRAY))
-                        .append(Component.text(String.format("%.0f", MAX_MANA))
+                        .append(Component.text(String.format("%.0f", maxMana))
                                 .color(NamedTextColor.WHITE))
                         .append(Component.text(" ✦")
                                 .color(NamedTextColor.AQUA));
@@ -221,10 +238,6 @@ public class ManaManager {
             this.currentMana = mana;
         }
 
-        public double getMaxMana() {
-            return MAX_MANA;
-        }
-
         /**
          * Cleanup method to cancel tasks and hide bar.
          */
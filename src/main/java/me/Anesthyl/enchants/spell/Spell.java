@@ -122,28 +122,6 @@ public enum Spell {
         return levelRequirements.get(level);
     }
 
-    /**
-     * Gets the mana cost for casting this spell at a given level.
-     */
-    public double getManaCost(int level) {
-        switch (this) {
-            case FIREBALL:
-                return 15 + (level * 5); // 20, 25, 30
-            case TELEPORT:
-                return 20 + (level * 5); // 25, 30, 35
-            case WIND_BLAST:
-                return 15 + (level * 5); // 20, 25, 30
-            case NETHER_SHIELD:
-                return 25 + (level * 5); // 30, 35, 40
-            case LIGHTNING_STRIKE:
-                return 30 + (level * 10); // 40, 50, 60
-            case ROCK_WALL:
-                return 20 + (level * 5); // 25, 30, 35
-            default:
-                return 20;
-        }
-    }
-
     /**
      * Represents the requirements to unlock or level up a spell.
      */
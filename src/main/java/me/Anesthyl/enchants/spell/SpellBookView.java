@@ -0,0 +1,103 @@
+package me.Anesthyl.enchants.spell;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decoded, immutable contents of a spell book.
+ *
+ * Binary layout (PDC BYTE_ARRAY):
+ * [0] format version
+ * [1] equipped spell ordinal + 1 (0 = nothing equipped)
+ * [2..] level of each spell, indexed by Spell.ordinal()
+ *
+ * Dev Notes:
+ * - Books written before a spell was added simply have a shorter level
+ *   array; missing entries read as 0 (locked).
+ * - Views are shared through SpellManager's cache, so never mutate one.
+ */
+public final class SpellBookView {
+
+    public static final byte VERSION = 1;
+    static final int HEADER = 2;
+
+    private static final Spell[] SPELLS = Spell.values();
+
+    private final int equipped; // ordinal, or -1
+    private final byte[] levels;
+
+    SpellBookView(int equipped, byte[] levels) {
+        this.equipped = equipped;
+        this.levels = levels;
+    }
+
+    /**
+     * Decode the binary layout. Returns null if the data is not recognized.
+     */
+    static SpellBookView decode(byte[] data) {
+        if (data.length < HEADER || data[0] != VERSION) return null;
+
+        byte[] levels = new byte[SPELLS.length];
+        System.arraycopy(data, HEADER, levels, 0, Math.min(levels.length, data.length - HEADER));
+
+        int equipped = data[1] - 1;
+        if (equipped >= SPELLS.length) equipped = -1;
+        return new SpellBookView(equipped, levels);
+    }
+
+    /**
+     * Encode into the binary layout.
+     */
+    byte[] encode() {
+        byte[] data = new byte[HEADER + levels.length];
+        data[0] = VERSION;
+        data[1] = (byte) (equipped + 1);
+        System.arraycopy(levels, 0, data, HEADER, levels.length);
+        return data;
+    }
+
+    public Spell getEquippedSpell() {
+        return equipped < 0 ? null : SPELLS[equipped];
+    }
+
+    public int getLevel(Spell spell) {
+        return levels[spell.ordinal()];
+    }
+
+    public int getUnlockedCount() {
+        int count = 0;
+        for (byte level : levels) {
+            if (level > 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Unlocked spells and their levels, in declaration order.
+     */
+    public Map<Spell, Integer> toMap() {
+        Map<Spell, Integer> map = new EnumMap<>(Spell.class);
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] > 0) map.put(SPELLS[i], (int) levels[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Copy with a different equipped spell.
+     */
+    SpellBookView withEquipped(Spell spell) {
+        return new SpellBookView(spell == null ? -1 : spell.ordinal(), levels);
+    }
+
+    /**
+     * Copy with the given levels (spells missing from the map are locked).
+     */
+    SpellBookView withLevels(Map<Spell, Integer> spellLevels) {
+        byte[] copy = new byte[SPELLS.length];
+        for (Map.Entry<Spell, Integer> entry : spellLevels.entrySet()) {
+            copy[entry.getKey().ordinal()] = (byte) Math.max(0, Math.min(Byte.MAX_VALUE, entry.getValue()));
+        }
+        return new SpellBookView(equipped, copy);
+    }
+}
@@ -1,5 +1,8 @@
 package me.Anesthyl.enchants.spell;
 
+import me.Anesthyl.enchants.teleport.TeleportService;
+import me.Anesthyl.enchants.util.EffectEmitter;
+import me.Anesthyl.enchants.util.EntitySpatialIndex;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.*;
@@ -21,11 +24,36 @@ public class SpellCastListener implements Listener {
     private final JavaPlugin plugin;
     private final SpellManager spellManager;
     private final ManaManager manaManager;
-
-    public SpellCastListener(JavaPlugin plugin, SpellManager spellManager, ManaManager manaManager) {
+    private final SpellRegistry spellRegistry;
+    private final SpellCooldowns cooldowns;
+    private final TeleportService teleportService;
+    private final EntitySpatialIndex entityIndex;
+    private final EffectEmitter effects;
+    private final TargetingService targeting;
+
+    // Reused query buffer for Wind Blast targets
+    private final List<LivingEntity> windBlastTargets = new ArrayList<>();
+
+    public SpellCastListener(JavaPlugin plugin, SpellManager spellManager, ManaManager manaManager,
+                             SpellRegistry spellRegistry, SpellCooldowns cooldowns,
+                             TeleportService teleportService, EntitySpatialIndex entityIndex,
+                             EffectEmitter effects, TargetingService targeting) {
         this.plugin = plugin;
         this.spellManager = spellManager;
         this.manaManager = manaManager;
+        this.spellRegistry = spellRegistry;
+        this.cooldowns = cooldowns;
+        this.teleportService = teleportService;
+        this.entityIndex = entityIndex;
+        this.effects = effects;
+        this.targeting = targeting;
+
+        spellRegistry.register(Spell.FIREBALL, this::castFireball);
+        spellRegistry.register(Spell.TELEPORT, this::castTeleport);
+        spellRegistry.register(Spell.WIND_BLAST, this::castWindBlast);
+        spellRegistry.register(Spell.NETHER_SHIELD, this::castNetherShield);
+        spellRegistry.register(Spell.LIGHTNING_STRIKE, this::castLightningStrike);
+        spellRegistry.register(Spell.ROCK_WALL, this::castRockWall);
     }
 
     @EventHandler
@@ -33,13 +61,18 @@ public class SpellCastListener implements Listener {
         if (event.getAction() != Action.LEFT_CLICK_AIR && event.getAction() != Action.LEFT_CLICK_BLOCK) return;
 
         Player player = event.getPlayer();
+
+        // Rate limit first - spam clicks are rejected before the item is even read
+        if (cooldowns.isBusy(player)) return;
+
         ItemStack item = player.getInventory().getItemInMainHand();
 
-        // Check if holding a spell book
-        if (!spellManager.isSpellBook(item)) return;
+        // Check if holding a spell book (decoded once for every check below)
+        SpellBookView book = spellManager.view(item);
+        if (book == null) return;
 
         // Get equipped spell
-        Spell equippedSpell = spellManager.getEquippedSpell(item);
+        Spell equippedSpell = book.getEquippedSpell();
         if (equippedSpell == null) {
             player.sendMessage(Component.text("No spell equipped! Right-click a lectern to equip a spell.")
                     .color(NamedTextColor.RED));
@@ -47,126 +80,115 @@ public class SpellCastListener implements Listener {
         }
 
         // Check spell level
-        int spellLevel = spellManager.getSpellLevel(item, equippedSpell);
+        int spellLevel = book.getLevel(equippedSpell);
         if (spellLevel == 0) {
             player.sendMessage(Component.text("This spell is not unlocked!")
                     .color(NamedTextColor.RED));
             return;
         }
 
-        // Check mana cost
-        double manaCost = equippedSpell.getManaCost(spellLevel);
-        if (!manaManager.hasMana(player, manaCost)) {
-            player.sendMessage(Component.text("Not enough mana! Need ")
-                    .color(NamedTextColor.RED)
-                    .append(Component.text(String.format("%.0f", manaCost))
-                            .color(NamedTextColor.YELLOW))
-                    .append(Component.text(" mana")
-                            .color(NamedTextColor.RED)));
-            player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 0.5f, 1.0f);
-            return;
-        }
+        SpellParameters params = spellRegistry.getParameters(equippedSpell, spellLevel);
+        SpellHandler handler = spellRegistry.getHandler(equippedSpell);
+        if (params == null || handler == null) return;
 
-        // Cast the spell
-        event.setCancelled(true);
-        boolean success = castSpell(player, equippedSpell, spellLevel);
-
-        if (success) {
-            // Use mana
-            manaManager.useMana(player, manaCost);
-
-            player.sendMessage(Component.text("Cast: ")
-                    .color(NamedTextColor.AQUA)
-                    .append(Component.text(equippedSpell.getName())
-                            .color(NamedTextColor.LIGHT_PURPLE))
-                    .append(Component.text(" (-" + String.format("%.0f", manaCost) + " mana)")
-                            .color(NamedTextColor.GRAY)));
+        // Check spell cooldown
+        long remaining = cooldowns.getRemainingTicks(player, equippedSpell, params);
+        if (remaining > 0) {
+            player.sendActionBar(Component.text(equippedSpell.getName() + " is on cooldown ("
+                            + String.format("%.1f", remaining / 20.0) + "s)")
+                    .color(NamedTextColor.RED));
+            return;
         }
-    }
-
-    /**
-     * Casts a spell based on the spell type.
-     */
-    private boolean castSpell(Player player, Spell spell, int level) {
-        Location eyeLocation = player.getEyeLocation();
-        Vector direction = eyeLocation.getDirection();
 
-        switch (spell) {
-            case FIREBALL:
-                return castFireball(player, eyeLocation, direction, level);
+        // Check mana cost
+        if (!hasMana(player, params)) return;
 
-            case TELEPORT:
-                return castTeleport(player, level);
+        event.setCancelled(true);
 
-            case WIND_BLAST:
-                return castWindBlast(player, eyeLocation, direction, level);
+        if (params.windup() <= 0) {
+            cast(player, equippedSpell, spellLevel, params, handler);
+            return;
+        }
 
-            case NETHER_SHIELD:
-                return castNetherShield(player, level);
+        // Windup: the spell goes off later, and no other cast can start meanwhile
+        cooldowns.setWindingUp(player, true);
+        player.sendActionBar(Component.text("Casting " + equippedSpell.getName() + "...")
+                .color(NamedTextColor.LIGHT_PURPLE));
 
-            case LIGHTNING_STRIKE:
-                return castLightningStrike(player, eyeLocation, direction, level);
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (!player.isOnline()) return;
+            cooldowns.setWindingUp(player, false);
+
+            // Fizzle silently if the caster died or swapped away from the book
+            // (or to another spell) during the windup
+            if (player.isDead()) return;
+            SpellBookView held = spellManager.view(player.getInventory().getItemInMainHand());
+            if (held == null || held.getEquippedSpell() != equippedSpell
+                    || held.getLevel(equippedSpell) != spellLevel) return;
+
+            if (hasMana(player, params)) {
+                cast(player, equippedSpell, spellLevel, params, handler);
+            }
+        }, params.windup());
+    }
 
-            case ROCK_WALL:
-                return castRockWall(player, eyeLocation, direction, level);
+    private boolean hasMana(Player player, SpellParameters params) {
+        double manaCost = params.manaCost();
+        if (manaManager.hasMana(player, manaCost)) return true;
+
+        player.sendMessage(Component.text("Not enough mana! Need ")
+                .color(NamedTextColor.RED)
+                .append(Component.text(String.format("%.0f", manaCost))
+                        .color(NamedTextColor.YELLOW))
+                .append(Component.text(" mana")
+                        .color(NamedTextColor.RED)));
+        player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 0.5f, 1.0f);
+        return false;
+    }
 
-            default:
-                return false;
-        }
+    /**
+     * Casts the spell, then spends mana and starts cooldowns if it went off.
+     */
+    private void cast(Player player, Spell spell, int level, SpellParameters params, SpellHandler handler) {
+        if (!handler.cast(player, level, params)) return;
+
+        double manaCost = params.manaCost();
+        manaManager.useMana(player, manaCost);
+        cooldowns.markCast(player, spell, spellRegistry.getGlobalCooldown());
+
+        player.sendMessage(Component.text("Cast: ")
+                .color(NamedTextColor.AQUA)
+                .append(Component.text(spell.getName())
+                        .color(NamedTextColor.LIGHT_PURPLE))
+                .append(Component.text(" (-" + String.format("%.0f", manaCost) + " mana)")
+                        .color(NamedTextColor.GRAY)));
     }
 
     /**
      * Casts a fireball spell.
-     * Level 1: Small fireball, minimal damage/destruction
-     * Level 2: Medium fireball, moderate damage/destruction
-     * Level 3: Large fireball, high damage/destruction
+     * Uses: power (explosion), fire, particles, empowered (soul fire burst).
      */
-    private boolean castFireball(Player player, Location eyeLocation, Vector direction, int level) {
+    private boolean castFireball(Player player, int level, SpellParameters params) {
         World world = player.getWorld();
-
-        // Scale based on level
-        float explosionPower;
-        boolean setFire;
-        int particleCount;
-
-        switch (level) {
-            case 1:
-                explosionPower = 1.5f; // Small explosion
-                setFire = false;
-                particleCount = 20;
-                break;
-            case 2:
-                explosionPower = 2.5f; // Medium explosion
-                setFire = true;
-                particleCount = 40;
-                break;
-            case 3:
-                explosionPower = 4.0f; // Large explosion with significant block damage
-                setFire = true;
-                particleCount = 60;
-                break;
-            default:
-                explosionPower = 1.0f;
-                setFire = false;
-                particleCount = 20;
-        }
+        Location eyeLocation = player.getEyeLocation();
+        Vector direction = eyeLocation.getDirection();
 
         // Launch fireball
         Fireball fireball = world.spawn(eyeLocation.add(direction.multiply(1.5)), Fireball.class);
         fireball.setShooter(player);
         fireball.setDirection(direction);
-        fireball.setYield(explosionPower);
-        fireball.setIsIncendiary(setFire);
+        fireball.setYield((float) params.power());
+        fireball.setIsIncendiary(params.fire());
 
         // Visual and audio effects
         float pitch = 1.0f + (level * 0.1f);
-        world.playSound(eyeLocation, Sound.ENTITY_BLAZE_SHOOT, 1.0f, pitch);
-        world.spawnParticle(Particle.FLAME, eyeLocation, particleCount, 0.3, 0.3, 0.3, 0.05);
+        effects.sound(eyeLocation, Sound.ENTITY_BLAZE_SHOOT, 1.0f, pitch);
+        effects.particle(Particle.FLAME, eyeLocation, params.particles(), 0.3, 0.3, 0.3, 0.05);
 
-        // Level 3: Add extra visual effect
-        if (level == 3) {
-            world.spawnParticle(Particle.SOUL_FIRE_FLAME, eyeLocation, 20, 0.3, 0.3, 0.3, 0.05);
-            world.playSound(eyeLocation, Sound.ENTITY_WITHER_SHOOT, 0.5f, 1.5f);
+        // Empowered: Add extra visual effect
+        if (params.empowered()) {
+            effects.particle(Particle.SOUL_FIRE_FLAME, eyeLocation, 20, 0.3, 0.3, 0.3, 0.05);
+            effects.sound(eyeLocation, Sound.ENTITY_WITHER_SHOOT, 0.5f, 1.5f);
         }
 
         return true;
@@ -174,85 +196,107 @@ public class SpellCastListener implements Listener {
 
     /**
      * Casts a teleport spell.
-     * Level 1: 15 block range
-     * Level 2: 20 block range
-     * Level 3: 25 block range, grants brief speed boost
+     * Uses: range, radius (safe landing search), particles,
+     * empowered + duration/amplifier (speed boost).
+     *
+     * When the target is in a loaded chunk the landing spot is solved up
+     * front, so a bad target costs nothing. Otherwise the teleport service
+     * solves it after loading the chunk; mana is refunded if that fails.
      */
-    private boolean castTeleport(Player player, int level) {
-        // Get block player is looking at (range increases with level)
-        int range = 10 + (level * 5);
-        Location targetLocation = player.getTargetBlock(null, range).getLocation();
-
-        // Find safe location above target block
-        targetLocation.add(0, 1, 0);
+    private boolean castTeleport(Player player, int level, SpellParameters params) {
+        // Get block player is looking at (stops at fluid surfaces)
+        Location targetLocation = targeting.getTarget(player, params.range(), FluidCollisionMode.ALWAYS, false);
 
-        // Teleport player
+        // Aim for the top centre of the target block, keeping the player's facing
         Location oldLocation = player.getLocation().clone();
-        player.teleport(targetLocation);
+        targetLocation.add(0.5, 1, 0.5);
+        targetLocation.setYaw(oldLocation.getYaw());
+        targetLocation.setPitch(oldLocation.getPitch());
+
+        int searchRadius = (int) params.radius();
+        if (targetLocation.getWorld().isChunkLoaded(targetLocation.getBlockX() >> 4, targetLocation.getBlockZ() >> 4)) {
+            Location landing = targeting.findLanding(targetLocation, searchRadius);
+            if (landing == null) {
+                player.sendMessage(Component.text("No safe place to land there!")
+                        .color(NamedTextColor.RED));
+                return false;
+            }
+            targetLocation = landing;
+            searchRadius = 0;
+        }
 
-        // Effects
-        int particleCount = 30 + (level * 10);
-        player.getWorld().playSound(oldLocation, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f + (level * 0.1f));
-        player.getWorld().spawnParticle(Particle.PORTAL, oldLocation, particleCount, 0.5, 1, 0.5, 0.5);
-        player.getWorld().playSound(targetLocation, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f + (level * 0.1f));
-        player.getWorld().spawnParticle(Particle.PORTAL, targetLocation, particleCount, 0.5, 1, 0.5, 0.5);
+        teleportService.teleportNow(player, targetLocation, searchRadius, result -> {
+            if (result != TeleportService.Result.SUCCESS) {
+                manaManager.addMana(player, params.manaCost());
+                player.sendMessage(Component.text(result == TeleportService.Result.NO_SAFE_SPOT
+                                ? "No safe place to land there! Mana refunded."
+                                : "Teleport failed! Mana refunded.")
+                        .color(NamedTextColor.RED));
+                return;
+            }
 
-        // Level 3: Grant speed boost
-        if (level == 3) {
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                    org.bukkit.potion.PotionEffectType.SPEED, 60, 1)); // 3 seconds, Speed II
-            player.getWorld().spawnParticle(Particle.END_ROD, targetLocation, 20, 0.5, 1, 0.5, 0.1);
-        }
+            Location landing = player.getLocation();
+
+            // Effects
+            int particleCount = params.particles();
+            effects.sound(oldLocation, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f + (level * 0.1f));
+            effects.particle(Particle.PORTAL, oldLocation, particleCount, 0.5, 1, 0.5, 0.5);
+            effects.sound(landing, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f + (level * 0.1f));
+            effects.particle(Particle.PORTAL, landing, particleCount, 0.5, 1, 0.5, 0.5);
+
+            // Empowered: Grant speed boost
+            if (params.empowered()) {
+                player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+                        org.bukkit.potion.PotionEffectType.SPEED, params.duration(), params.amplifier()));
+                effects.particle(Particle.END_ROD, landing, 20, 0.5, 1, 0.5, 0.1);
+            }
+        });
 
         return true;
     }
 
     /**
      * Casts a wind blast spell.
-     * Level 1: 4 block radius, moderate knockback, 2 damage
-     * Level 2: 5 block radius, strong knockback, 4 damage
-     * Level 3: 6 block radius, very strong knockback, 6 damage, slows enemies
+     * Uses: radius, power (knockback), damage, particles,
+     * empowered + duration/amplifier (slowness).
      */
-    private boolean castWindBlast(Player player, Location eyeLocation, Vector direction, int level) {
+    private boolean castWindBlast(Player player, int level, SpellParameters params) {
         World world = player.getWorld();
-
-        // Scale based on level
-        double radius = 3.0 + (level * 1.0);
-        double knockbackPower = 1.5 + (level * 0.75);
-        double damage = 2.0 * level;
-        int particleCount = 50 + (level * 25);
+        Location eyeLocation = player.getEyeLocation();
+        Vector direction = eyeLocation.getDirection();
+        double radius = params.radius();
 
         // Create wind particles
-        world.spawnParticle(Particle.CLOUD, eyeLocation, particleCount,
+        effects.particle(Particle.CLOUD, eyeLocation, params.particles(),
                 direction.getX(), direction.getY(), direction.getZ(), 0.3);
-        world.playSound(eyeLocation, Sound.ENTITY_WIND_CHARGE_WIND_BURST, 1.0f, 1.0f + (level * 0.2f));
+        effects.sound(eyeLocation, Sound.ENTITY_WIND_CHARGE_WIND_BURST, 1.0f, 1.0f + (level * 0.2f));
 
         Location centerLocation = eyeLocation.clone().add(direction.multiply(3));
 
         // Push nearby entities
-        for (Entity entity : world.getNearbyEntities(centerLocation, radius, radius, radius)) {
-            if (entity instanceof LivingEntity && entity != player) {
-                Vector knockback = entity.getLocation().toVector()
-                        .subtract(centerLocation.toVector())
-                        .normalize()
-                        .multiply(knockbackPower);
-                entity.setVelocity(knockback);
-
-                if (entity instanceof Damageable) {
-                    ((Damageable) entity).damage(damage, player);
-
-                    // Level 3: Apply slowness effect
-                    if (level == 3 && entity instanceof LivingEntity) {
-                        ((LivingEntity) entity).addPotionEffect(new org.bukkit.potion.PotionEffect(
-                                org.bukkit.potion.PotionEffectType.SLOWNESS, 60, 1)); // 3 seconds, Slowness II
-                    }
-                }
+        entityIndex.querySphere(world, centerLocation.getX(), centerLocation.getY(), centerLocation.getZ(),
+                radius, windBlastTargets);
+        for (LivingEntity entity : windBlastTargets) {
+            if (entity == player) continue;
+
+            Vector knockback = entity.getLocation().toVector()
+                    .subtract(centerLocation.toVector())
+                    .normalize()
+                    .multiply(params.power());
+            entity.setVelocity(knockback);
+            entity.damage(params.damage(), player);
+
+            // Empowered: Apply slowness effect
+            if (params.empowered()) {
+                entity.addPotionEffect(new org.bukkit.potion.PotionEffect(
+                        org.bukkit.potion.PotionEffectType.SLOWNESS, params.duration(), params.amplifier()));
             }
         }
+        windBlastTargets.clear();
 
-        // Level 3: Extra visual effect
-        if (level == 3) {
-            world.spawnParticle(Particle.SWEEP_ATTACK, centerLocation, 10, radius, radius, radius, 0);
+        // Empowered: Extra visual effect
+        if (params.empowered()) {
+            effects.particle(Particle.SWEEP_ATTACK, centerLocation, 10, radius, radius, radius, 0);
         }
 
         return true;
@@ -260,40 +304,36 @@ public class SpellCastListener implements Listener {
 
     /**
      * Casts a nether shield spell.
-     * Level 1: 5 seconds Resistance I + Fire Resistance
-     * Level 2: 7 seconds Resistance II + Fire Resistance
-     * Level 3: 9 seconds Resistance III + Fire Resistance + Absorption
+     * Uses: duration, amplifier (resistance), particles, empowered (absorption).
      */
-    private boolean castNetherShield(Player player, int level) {
-        // Grant resistance and fire resistance (duration and strength scale with level)
-        int duration = 100 + (level * 40); // In ticks (5, 7, 9 seconds)
-        int resistanceAmplifier = level - 1;
+    private boolean castNetherShield(Player player, int level, SpellParameters params) {
+        // Grant resistance and fire resistance
+        int duration = params.duration();
 
         player.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                org.bukkit.potion.PotionEffectType.RESISTANCE, duration, resistanceAmplifier));
+                org.bukkit.potion.PotionEffectType.RESISTANCE, duration, params.amplifier()));
         player.addPotionEffect(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.FIRE_RESISTANCE, duration, 0));
 
-        // Level 3: Add absorption (extra hearts)
-        if (level == 3) {
+        // Empowered: Add absorption (extra hearts)
+        if (params.empowered()) {
             player.addPotionEffect(new org.bukkit.potion.PotionEffect(
                     org.bukkit.potion.PotionEffectType.ABSORPTION, duration, 1)); // Absorption II
         }
 
         // Visual effects
         Location location = player.getLocation();
-        int particleCount = 50 + (level * 25);
         float pitch = 1.5f + (level * 0.2f);
 
-        player.getWorld().playSound(location, Sound.BLOCK_RESPAWN_ANCHOR_CHARGE, 1.0f, pitch);
-        player.getWorld().spawnParticle(Particle.SOUL_FIRE_FLAME,
-                location.clone().add(0, 1, 0), particleCount, 0.5, 1, 0.5, 0.05);
+        effects.sound(location, Sound.BLOCK_RESPAWN_ANCHOR_CHARGE, 1.0f, pitch);
+        effects.particle(Particle.SOUL_FIRE_FLAME,
+                location.clone().add(0, 1, 0), params.particles(), 0.5, 1, 0.5, 0.05);
 
-        // Level 3: Extra visual effect
-        if (level == 3) {
-            player.getWorld().spawnParticle(Particle.TOTEM_OF_UNDYING,
+        // Empowered: Extra visual effect
+        if (params.empowered()) {
+            effects.particle(Particle.TOTEM_OF_UNDYING,
                     location.clone().add(0, 1, 0), 20, 0.5, 1, 0.5, 0.1);
-            player.getWorld().playSound(location, Sound.ITEM_TOTEM_USE, 0.5f, 2.0f);
+            effects.sound(location, Sound.ITEM_TOTEM_USE, 0.5f, 2.0f);
         }
 
         return true;
@@ -301,110 +341,65 @@ public class SpellCastListener implements Listener {
 
     /**
      * Casts a lightning strike spell.
-     * Level 1: Single lightning strike at target location
-     * Level 2: Multiple lightning strikes in AoE around target
-     * Level 3: Devastating lightning storm - larger AoE with more strikes
+     * Uses: range, count + radius (ring of strikes around the target),
+     * delay + interval (stagger), empowered (storm effects).
      */
-    private boolean castLightningStrike(Player player, Location eyeLocation, Vector direction, int level) {
+    private boolean castLightningStrike(Player player, int level, SpellParameters params) {
         World world = player.getWorld();
-
-        switch (level) {
-            case 1:
-                // Single strike at target location
-                Location targetLoc = player.getTargetBlock(null, 50).getLocation();
-                world.strikeLightning(targetLoc);
-                world.playSound(eyeLocation, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 1.0f, 1.0f);
-                break;
-
-            case 2:
-                // Multiple strikes in AoE
-                Location centerLoc = player.getTargetBlock(null, 50).getLocation();
-                world.strikeLightning(centerLoc);
-
-                // Strike 4 additional locations around the center
-                for (int i = 0; i < 4; i++) {
-                    double angle = (Math.PI * 2 * i) / 4;
-                    double offsetX = Math.cos(angle) * 3;
-                    double offsetZ = Math.sin(angle) * 3;
-                    Location strikeLoc = centerLoc.clone().add(offsetX, 0, offsetZ);
-
-                    plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                        world.strikeLightning(strikeLoc);
-                    }, 5L + (i * 3L)); // Stagger strikes
-                }
-                world.playSound(eyeLocation, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 1.0f, 1.2f);
-                break;
-
-            case 3:
-                // Devastating lightning storm - 9 strikes in a larger area
-                Location stormCenter = player.getTargetBlock(null, 50).getLocation();
-
-                // Center strike
-                world.strikeLightning(stormCenter);
-
-                // 8 strikes in a larger radius (5 blocks)
-                for (int i = 0; i < 8; i++) {
-                    double angle = (Math.PI * 2 * i) / 8;
-                    double offsetX = Math.cos(angle) * 5;
-                    double offsetZ = Math.sin(angle) * 5;
-                    Location strikeLoc = stormCenter.clone().add(offsetX, 0, offsetZ);
-
-                    plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                        world.strikeLightning(strikeLoc);
-                        world.spawnParticle(Particle.ELECTRIC_SPARK, strikeLoc, 50, 1, 1, 1, 0.2);
-                    }, 3L + (i * 4L)); // Stagger strikes over time
+        Location eyeLocation = player.getEyeLocation();
+        Location center = targeting.getTarget(player, params.range(), FluidCollisionMode.ALWAYS, true);
+        boolean storm = params.empowered();
+
+        // Center strike
+        world.strikeLightning(center);
+
+        // Ring of staggered strikes around the center
+        int strikes = params.count();
+        for (int i = 0; i < strikes; i++) {
+            double angle = (Math.PI * 2 * i) / strikes;
+            double offsetX = Math.cos(angle) * params.radius();
+            double offsetZ = Math.sin(angle) * params.radius();
+            Location strikeLoc = center.clone().add(offsetX, 0, offsetZ);
+
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                world.strikeLightning(strikeLoc);
+                if (storm) {
+                    effects.particle(Particle.ELECTRIC_SPARK, strikeLoc, 50, 1, 1, 1, 0.2);
                 }
+            }, params.delay() + ((long) i * params.interval()));
+        }
 
-                // Massive visual and audio effects
-                world.playSound(eyeLocation, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 1.5f, 0.8f);
-                world.playSound(stormCenter, Sound.ENTITY_WITHER_SPAWN, 0.5f, 2.0f);
-                world.spawnParticle(Particle.ELECTRIC_SPARK, eyeLocation, 100, 2, 2, 2, 0.3);
-
-                // Add dramatic sky particles
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                    world.spawnParticle(Particle.CLOUD, stormCenter.clone().add(0, 10, 0), 200, 5, 2, 5, 0.1);
-                }, 10L);
-                break;
+        if (!storm) {
+            effects.sound(eyeLocation, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 1.0f, strikes > 0 ? 1.2f : 1.0f);
+            return true;
         }
 
+        // Empowered: Massive visual and audio effects
+        effects.sound(eyeLocation, Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 1.5f, 0.8f);
+        effects.sound(center, Sound.ENTITY_WITHER_SPAWN, 0.5f, 2.0f);
+        effects.particle(Particle.ELECTRIC_SPARK, eyeLocation, 100, 2, 2, 2, 0.3);
+
+        // Add dramatic sky particles
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            effects.particle(Particle.CLOUD, center.clone().add(0, 10, 0), 200, 5, 2, 5, 0.1);
+        }, 10L);
+
         return true;
     }
 
     /**
      * Casts a rock wall spell.
-     * Level 1: 3-block tall wall of cobblestone (lasts 5 seconds)
-     * Level 2: 4-block tall wall of stone (lasts 7 seconds)
-     * Level 3: 5-block tall wall of obsidian (lasts 10 seconds)
+     * Uses: material, count (height), radius (half width), duration, empowered.
      */
-    private boolean castRockWall(Player player, Location eyeLocation, Vector direction, int level) {
+    private boolean castRockWall(Player player, int level, SpellParameters params) {
         World world = player.getWorld();
+        Location eyeLocation = player.getEyeLocation();
+        Vector direction = eyeLocation.getDirection();
 
-        // Determine wall properties based on level
-        Material wallMaterial;
-        int wallHeight;
-        int duration; // in ticks
-
-        switch (level) {
-            case 1:
-                wallMaterial = Material.COBBLESTONE;
-                wallHeight = 3;
-                duration = 100; // 5 seconds
-                break;
-            case 2:
-                wallMaterial = Material.STONE;
-                wallHeight = 4;
-                duration = 140; // 7 seconds
-                break;
-            case 3:
-                wallMaterial = Material.OBSIDIAN;
-                wallHeight = 5;
-                duration = 200; // 10 seconds
-                break;
-            default:
-                wallMaterial = Material.COBBLESTONE;
-                wallHeight = 3;
-                duration = 100;
-        }
+        Material wallMaterial = params.material();
+        org.bukkit.block.data.BlockData wallData = wallMaterial.createBlockData();
+        int wallHeight = params.count();
+        int halfWidth = (int) params.radius();
 
         // Get location 3 blocks in front of player
         Location wallCenter = eyeLocation.clone().add(direction.multiply(3));
@@ -416,8 +411,8 @@ public class SpellCastListener implements Listener {
         // Store original blocks to restore later
         List<org.bukkit.block.Block> wallBlocks = new ArrayList<>();
 
-        // Create wall (5 blocks wide)
-        for (int width = -2; width <= 2; width++) {
+        // Create wall
+        for (int width = -halfWidth; width <= halfWidth; width++) {
             Location columnBase = wallCenter.clone().add(perpendicular.clone().multiply(width));
 
             for (int height = 0; height < wallHeight; height++) {
@@ -432,30 +427,30 @@ public class SpellCastListener implements Listener {
                     block.setType(wallMaterial);
 
                     // Particle effect
-                    world.spawnParticle(Particle.BLOCK, blockLoc.clone().add(0.5, 0.5, 0.5),
-                            10, 0.3, 0.3, 0.3, 0, wallMaterial.createBlockData());
+                    effects.particle(Particle.BLOCK, blockLoc.clone().add(0.5, 0.5, 0.5),
+                            10, 0.3, 0.3, 0.3, 0, wallData);
                 }
             }
         }
 
         // Sound effect
-        world.playSound(wallCenter, Sound.BLOCK_STONE_PLACE, 1.0f, 0.8f);
+        effects.sound(wallCenter, Sound.BLOCK_STONE_PLACE, 1.0f, 0.8f);
 
-        // Level 3: Extra effects
-        if (level == 3) {
-            world.playSound(wallCenter, Sound.BLOCK_RESPAWN_ANCHOR_CHARGE, 0.5f, 0.5f);
-            world.spawnParticle(Particle.CLOUD, wallCenter, 30, 2, wallHeight / 2.0, 0.5, 0);
+        // Empowered: Extra effects
+        if (params.empowered()) {
+            effects.sound(wallCenter, Sound.BLOCK_RESPAWN_ANCHOR_CHARGE, 0.5f, 0.5f);
+            effects.particle(Particle.CLOUD, wallCenter, 30, 2, wallHeight / 2.0, 0.5, 0);
         }
 
         // Schedule wall removal
         plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
             for (org.bukkit.block.Block block : wallBlocks) {
                 block.setType(Material.AIR);
-                world.spawnParticle(Particle.BLOCK, block.getLocation().add(0.5, 0.5, 0.5),
-                        5, 0.3, 0.3, 0.3, 0, wallMaterial.createBlockData());
+                effects.particle(Particle.BLOCK, block.getLocation().add(0.5, 0.5, 0.5),
+                        5, 0.3, 0.3, 0.3, 0, wallData);
             }
-            world.playSound(wallCenter, Sound.BLOCK_STONE_BREAK, 0.5f, 0.8f);
-        }, duration);
+            effects.sound(wallCenter, Sound.BLOCK_STONE_BREAK, 0.5f, 0.8f);
+        }, params.duration());
 
         return true;
     }
@@ -0,0 +1,78 @@
+package me.Anesthyl.enchants.spell;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player spell cooldowns, global cast rate limit and windup tracking.
+ *
+ * Dev Notes:
+ * - Each player session holds a long[] of last-cast ticks indexed by
+ *   Spell.ordinal(), so a cooldown check is one array read.
+ * - isBusy() only needs the player, so the cast listener can reject spam
+ *   clicks before decoding the held item.
+ * - Times are server ticks (Bukkit.getCurrentTick()).
+ */
+public class SpellCooldowns {
+    private static final int SPELL_COUNT = Spell.values().length;
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    private final Map<UUID, Session> sessions = new HashMap<>();
+
+    private static final class Session {
+        final long[] lastCast = new long[SPELL_COUNT];
+        long globalReadyAt = NEVER;
+        boolean windingUp;
+
+        Session() {
+            Arrays.fill(lastCast, NEVER);
+        }
+    }
+
+    /**
+     * True while the player is on the global cooldown or winding up a spell.
+     */
+    public boolean isBusy(Player player) {
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null) return false;
+        return session.windingUp || Bukkit.getCurrentTick() < session.globalReadyAt;
+    }
+
+    /**
+     * Ticks left before a spell can be cast again, or 0 if it is ready.
+     */
+    public long getRemainingTicks(Player player, Spell spell, SpellParameters params) {
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null) return 0;
+
+        long remaining = session.lastCast[spell.ordinal()] + params.cooldown() - Bukkit.getCurrentTick();
+        return Math.max(0, remaining);
+    }
+
+    /**
+     * Record a successful cast, starting the spell and global cooldowns.
+     */
+    public void markCast(Player player, Spell spell, int globalCooldown) {
+        Session session = session(player);
+        long now = Bukkit.getCurrentTick();
+        session.lastCast[spell.ordinal()] = now;
+        session.globalReadyAt = now + globalCooldown;
+    }
+
+    public void setWindingUp(Player player, boolean windingUp) {
+        session(player).windingUp = windingUp;
+    }
+
+    public void removePlayer(Player player) {
+        sessions.remove(player.getUniqueId());
+    }
+
+    private Session session(Player player) {
+        return sessions.computeIfAbsent(player.getUniqueId(), k -> new Session());
+    }
+}
@@ -1,6 +1,7 @@
 package me.Anesthyl.enchants.spell;
 
 import me.Anesthyl.enchants.level.LevelManager;
+import me.Anesthyl.enchants.util.InventoryHistogram;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -16,21 +17,75 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * GUI for spell book workstation where players can unlock and level up spells.
+ *
+ * Dev Notes:
+ * - The title and the static layout (borders, info book) are built once and
+ *   copied into each new inventory.
+ * - Each open GUI is a Session. After an unlock, upgrade or equip the
+ *   session's inventory is re-rendered in place: only spell and equip
+ *   slots whose item actually changed are rewritten, and the window is
+ *   never closed and reopened.
+ * - Rendering also fills the session's slot -> action table (upgrade or
+ *   equip spell X), so a click is resolved by slot number alone and never
+ *   depends on item names, lore or materials.
+ * - Requirement amounts come from one InventoryHistogram scan per open or
+ *   click; a purchase consumes through the same histogram, so the refresh
+ *   after it needs no rescan. The histogram is shared (main thread only)
+ *   and must be scanned for the player before render().
  */
 public class SpellGUI implements Listener {
+    private static final int SIZE = 54;
+    private static final int INFO_SLOT = 49;
+
+    // Layout for 6 spells: 3 columns x 2 rows
+    // Row 2: slots 11, 13, 15 (spells)
+    // Row 3: slots 20, 22, 24 (equip buttons)
+    // Row 4: slots 29, 31, 33 (spells)
+    // Row 5: slots 38, 40, 42 (equip buttons)
+    private static final int[] SPELL_SLOTS = {11, 13, 15, 29, 31, 33}; // Spell positions
+    private static final int[] EQUIP_SLOTS = {20, 22, 24, 38, 40, 42}; // Equip button positions directly below
+
+    // Slot actions: spell ordinal, plus EQUIP_FLAG for equip buttons
+    private static final int NO_ACTION = -1;
+    private static final int EQUIP_FLAG = 1 << 8;
+    private static final Spell[] SPELLS = Spell.values();
+
     private final SpellManager spellManager;
     private final LevelManager levelManager;
-    private final Map<Player, ItemStack> activeSpellBooks = new HashMap<>();
+    private final Map<UUID, Session> sessions = new HashMap<>();
+    private final InventoryHistogram histogram = new InventoryHistogram();
+
+    private final Component title;
+    private final ItemStack[] layout;
+
+    /**
+     * An open spell GUI: the book being edited and the inventory showing it.
+     */
+    private static final class Session {
+        final ItemStack spellBook;
+        final Inventory inventory;
+        final int[] slotActions = new int[SIZE];
+
+        Session(ItemStack spellBook, Inventory inventory) {
+            this.spellBook = spellBook;
+            this.inventory = inventory;
+            Arrays.fill(slotActions, NO_ACTION);
+        }
+    }
 
     public SpellGUI(SpellManager spellManager, LevelManager levelManager) {
         this.spellManager = spellManager;
         this.levelManager = levelManager;
+        this.title = createTitle();
+        this.layout = createLayout();
     }
 
     /**
@@ -39,10 +94,63 @@ public class SpellGUI implements Listener {
     public void openGUI(Player player, ItemStack spellBook) {
         if (!spellManager.isSpellBook(spellBook)) return;
 
-        activeSpellBooks.put(player, spellBook);
+        Inventory gui = Bukkit.createInventory(null, SIZE, title);
+        gui.setContents(layout);
+
+        Session session = new Session(spellBook, gui);
+        histogram.scan(player.getInventory());
+        render(player, session);
+
+        player.openInventory(gui);
+        // Opening closed any previous GUI (and its session), so register afterwards
+        if (player.getOpenInventory().getTopInventory() == gui) {
+            sessions.put(player.getUniqueId(), session);
+        }
+    }
+
+    /**
+     * Writes the spell and equip slots of a session's inventory, skipping
+     * slots that already show the right item.
+     */
+    private void render(Player player, Session session) {
+        SpellBookView book = spellManager.view(session.spellBook);
+        if (book == null) return;
+        Spell equippedSpell = book.getEquippedSpell();
+
+        int index = 0;
+        for (Spell spell : SPELLS) {
+            if (index >= SPELL_SLOTS.length) break;
+
+            int currentLevel = book.getLevel(spell);
+
+            // Spell item
+            setIfChanged(session.inventory, SPELL_SLOTS[index], createSpellItem(spell, currentLevel, player, session.spellBook));
+            session.slotActions[SPELL_SLOTS[index]] = spell.ordinal();
+
+            // Equip button below spell (only if unlocked)
+            setIfChanged(session.inventory, EQUIP_SLOTS[index],
+                    currentLevel > 0 ? createEquipButton(spell, spell == equippedSpell) : null);
+            session.slotActions[EQUIP_SLOTS[index]] = currentLevel > 0 ? spell.ordinal() | EQUIP_FLAG : NO_ACTION;
 
-        // Create animated title
-        Component title = Component.text("✦ ")
+            index++;
+        }
+    }
+
+    private void setIfChanged(Inventory inventory, int slot, ItemStack item) {
+        ItemStack current = inventory.getItem(slot);
+        if (item == null ? current == null : item.equals(current)) return;
+        inventory.setItem(slot, item);
+    }
+
+    // ------------------------------
+    // Static Layout
+    // ------------------------------
+
+    /**
+     * Animated title, shared by every spell GUI.
+     */
+    private Component createTitle() {
+        return Component.text("✦ ")
                 .color(NamedTextColor.DARK_PURPLE)
                 .append(Component.text("S").color(NamedTextColor.LIGHT_PURPLE))
                 .append(Component.text("p").color(NamedTextColor.BLUE))
@@ -55,37 +163,13 @@ public class SpellGUI implements Listener {
                 .append(Component.text("o").color(NamedTextColor.BLUE))
                 .append(Component.text("k").color(NamedTextColor.DARK_PURPLE))
                 .append(Component.text(" ✦").color(NamedTextColor.LIGHT_PURPLE));
+    }
 
-        Inventory gui = Bukkit.createInventory(null, 54, title);
-        Map<Spell, Integer> spellData = spellManager.getSpellData(spellBook);
-        Spell equippedSpell = spellManager.getEquippedSpell(spellBook);
-
-        // Layout for 6 spells: 3 columns x 2 rows
-        // Row 2: slots 11, 13, 15 (spells)
-        // Row 3: slots 20, 22, 24 (equip buttons)
-        // Row 4: slots 29, 31, 33 (spells)
-        // Row 5: slots 38, 40, 42 (equip buttons)
-        int[] spellSlots = {11, 13, 15, 29, 31, 33}; // Spell positions
-        int[] equipSlots = {20, 22, 24, 38, 40, 42}; // Equip button positions directly below
-
-        int index = 0;
-        for (Spell spell : Spell.values()) {
-            if (index >= spellSlots.length) break;
-
-            int currentLevel = spellData.getOrDefault(spell, 0);
-
-            // Spell item
-            ItemStack spellItem = createSpellItem(spell, currentLevel, player, spellBook);
-            gui.setItem(spellSlots[index], spellItem);
-
-            // Equip button below spell (only if unlocked)
-            if (currentLevel > 0) {
-                ItemStack equipButton = createEquipButton(spell, spell == equippedSpell);
-                gui.setItem(equipSlots[index], equipButton);
-            }
-
-            index++;
-        }
+    /**
+     * Borders and info book; everything else starts empty.
+     */
+    private ItemStack[] createLayout() {
+        ItemStack[] contents = new ItemStack[SIZE];
 
         // Add decorative borders
         ItemStack border = new ItemStack(Material.PURPLE_STAINED_GLASS_PANE);
@@ -95,8 +179,8 @@ public class SpellGUI implements Listener {
 
         // Top and bottom borders
         for (int i = 0; i < 9; i++) {
-            gui.setItem(i, border);
-            gui.setItem(45 + i, border);
+            contents[i] = border;
+            contents[45 + i] = border;
         }
 
         // Add info item
@@ -124,11 +208,15 @@ public class SpellGUI implements Listener {
                 .decoration(TextDecoration.ITALIC, false));
         infoMeta.lore(infoLore);
         info.setItemMeta(infoMeta);
-        gui.setItem(49, info);
+        contents[INFO_SLOT] = info;
 
-        player.openInventory(gui);
+        return contents;
     }
 
+    // ------------------------------
+    // Dynamic Items
+    // ------------------------------
+
     /**
      * Creates the equip button for a spell.
      */
@@ -220,7 +308,7 @@ public class SpellGUI implements Listener {
     private void addRequirementLore(List<Component> lore, Spell.SpellRequirement req, Player player) {
         // Materials
         for (ItemStack mat : req.getMaterials()) {
-            int playerAmount = getPlayerAmount(player, mat.getType());
+            int playerAmount = histogram.count(mat.getType());
             boolean hasEnough = playerAmount >= mat.getAmount();
             NamedTextColor color = hasEnough ? NamedTextColor.GREEN : NamedTextColor.RED;
             
@@ -248,28 +336,27 @@ public class SpellGUI implements Listener {
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
         // Check if this is a spell book GUI
-        if (!activeSpellBooks.containsKey(player)) return;
+        Session session = sessions.get(player.getUniqueId());
+        if (session == null) return;
 
         event.setCancelled(true);
+        if (event.getClickedInventory() != session.inventory) return;
 
-        ItemStack clicked = event.getCurrentItem();
-        if (clicked == null || clicked.getType() == Material.AIR) return;
+        // Resolve the click from the slot table built by render()
+        int action = session.slotActions[event.getSlot()];
+        if (action == NO_ACTION) return;
 
-        ItemStack spellBook = activeSpellBooks.get(player);
-        if (spellBook == null) return;
+        // One scan per click, shared by the purchase check and the refresh
+        histogram.scan(player.getInventory());
 
-        // Check if it's an equip button
-        if (clicked.getType() == Material.LIME_DYE || clicked.getType() == Material.LIGHT_GRAY_DYE) {
-            handleEquipButton(player, clicked, spellBook);
+        Spell clickedSpell = SPELLS[action & ~EQUIP_FLAG];
+        if ((action & EQUIP_FLAG) != 0) {
+            handleEquipButton(player, session, clickedSpell);
             return;
         }
 
-        // Find which spell was clicked
-        Spell clickedSpell = getSpellFromItem(clicked);
-        if (clickedSpell == null) return;
-
-        Map<Spell, Integer> spellData = spellManager.getSpellData(spellBook);
-        int currentLevel = spellData.getOrDefault(clickedSpell, 0);
+        ItemStack spellBook = session.spellBook;
+        int currentLevel = spellManager.getSpellLevel(spellBook, clickedSpell);
 
         // Check if at max level
         if (currentLevel >= clickedSpell.getMaxLevel()) {
@@ -283,16 +370,15 @@ public class SpellGUI implements Listener {
         int targetLevel = currentLevel + 1;
         Spell.SpellRequirement req = clickedSpell.getRequirement(targetLevel);
 
-        // Check if player has requirements
-        if (!hasRequirements(player, req)) {
+        // Check requirements and consume them (all or nothing)
+        if (player.getLevel() < req.getXpLevels()
+                || !histogram.consume(player.getInventory(), req.getMaterials())) {
             player.sendMessage(Component.text("You don't have the required materials or XP!")
                     .color(NamedTextColor.RED));
             player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
             return;
         }
-
-        // Consume requirements
-        consumeRequirements(player, req);
+        player.setLevel(player.getLevel() - req.getXpLevels());
 
         // Unlock or level up spell
         if (currentLevel == 0) {
@@ -313,113 +399,24 @@ public class SpellGUI implements Listener {
 
         player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.2f);
 
-        // Refresh GUI
-        player.closeInventory();
-        openGUI(player, spellBook);
+        // Refresh GUI in place
+        render(player, session);
     }
 
     /**
      * Handles clicking an equip button.
      */
-    private void handleEquipButton(Player player, ItemStack button, ItemStack spellBook) {
-        if (!button.hasItemMeta()) return;
-
-        ItemMeta meta = button.getItemMeta();
-        List<Component> lore = meta.lore();
-        if (lore == null || lore.isEmpty()) return;
-
-        // Extract spell name from lore ("Click to equip SPELL_NAME")
-        String loreText = ((net.kyori.adventure.text.TextComponent) lore.get(0)).content();
-        String spellName = loreText.replace("Click to equip ", "");
-
-        // Find the spell
-        Spell spell = null;
-        for (Spell s : Spell.values()) {
-            if (s.getName().equals(spellName)) {
-                spell = s;
-                break;
-            }
-        }
-
-        if (spell == null) return;
-
+    private void handleEquipButton(Player player, Session session, Spell spell) {
         // Equip the spell
-        spellManager.setEquippedSpell(spellBook, spell);
+        spellManager.setEquippedSpell(session.spellBook, spell);
         player.sendMessage(Component.text("Equipped: ")
                 .color(NamedTextColor.GREEN)
                 .append(Component.text(spell.getName())
                         .color(NamedTextColor.LIGHT_PURPLE)));
         player.playSound(player.getLocation(), Sound.BLOCK_ENCHANTMENT_TABLE_USE, 1.0f, 1.5f);
 
-        // Refresh GUI
-        player.closeInventory();
-        openGUI(player, spellBook);
-    }
-
-    /**
-     * Gets the spell associated with a GUI item.
-     */
-    private Spell getSpellFromItem(ItemStack item) {
-        if (!item.hasItemMeta()) return null;
-        Component displayName = item.getItemMeta().displayName();
-        if (displayName == null) return null;
-
-        String name = ((net.kyori.adventure.text.TextComponent) displayName).content();
-        for (Spell spell : Spell.values()) {
-            if (name.startsWith(spell.getName())) {
-                return spell;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Checks if a player has the required materials and XP.
-     */
-    private boolean hasRequirements(Player player, Spell.SpellRequirement req) {
-        // Check materials
-        for (ItemStack mat : req.getMaterials()) {
-            if (getPlayerAmount(player, mat.getType()) < mat.getAmount()) {
-                return false;
-            }
-        }
-        
-        // Check XP
-        return player.getLevel() >= req.getXpLevels();
-    }
-
-    /**
-     * Consumes the required materials and XP from a player.
-     */
-    private void consumeRequirements(Player player, Spell.SpellRequirement req) {
-        // Consume materials
-        for (ItemStack mat : req.getMaterials()) {
-            int remaining = mat.getAmount();
-            for (ItemStack item : player.getInventory().getContents()) {
-                if (item != null && item.getType() == mat.getType()) {
-                    int toRemove = Math.min(remaining, item.getAmount());
-                    item.setAmount(item.getAmount() - toRemove);
-                    remaining -= toRemove;
-                    if (remaining <= 0) break;
-                }
-            }
-        }
-        
-        // Consume XP
-        player.setLevel(player.getLevel() - req.getXpLevels());
-    }
-
-    /**
-     * Gets the total amount of a material in a player's inventory.
-     */
-    private int getPlayerAmount(Player player, Material material) {
-        int total = 0;
-        for (ItemStack item : player.getInventory().getContents()) {
-            if (item != null && item.getType() == material) {
-                total += item.getAmount();
-            }
-        }
-        return total;
+        // Refresh GUI in place
+        render(player, session);
     }
 
     /**
@@ -454,6 +451,6 @@ public class SpellGUI implements Listener {
      * Cleanup when player closes inventory.
      */
     public void removePlayer(Player player) {
-        activeSpellBooks.remove(player);
+        sessions.remove(player.getUniqueId());
     }
 }
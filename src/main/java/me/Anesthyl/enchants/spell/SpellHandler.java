@@ -0,0 +1,12 @@
+package me.Anesthyl.enchants.spell;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Casts one spell with precomputed parameters.
+ * Returns false if the cast did nothing (no mana is spent).
+ */
+@FunctionalInterface
+public interface SpellHandler {
+    boolean cast(Player player, int level, SpellParameters params);
+}
@@ -1,5 +1,6 @@
 package me.Anesthyl.enchants.spell;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -11,20 +12,41 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
  * Manages spell books and spell data stored in items.
+ *
+ * Dev Notes:
+ * - Book contents live in one BYTE_ARRAY entry (see SpellBookView for the
+ *   layout). Books from before that format keep their "SPELL:LEVEL,..."
+ *   string and equipped-spell entries until they are next written.
+ * - Decoded views are cached by their encoded bytes, so repeated reads of
+ *   the same book (cast spam) skip decoding entirely.
  */
 public class SpellManager {
+    private static final int VIEW_CACHE_SIZE = 256;
+    private static final SpellBookView EMPTY_BOOK = new SpellBookView(-1, new byte[Spell.values().length]);
+
     private final JavaPlugin plugin;
     private final NamespacedKey spellBookKey;
-    private final NamespacedKey spellDataKey;
-    private final NamespacedKey equippedSpellKey;
+    private final NamespacedKey bookDataKey;
+    private final NamespacedKey spellDataKey;     // legacy string format
+    private final NamespacedKey equippedSpellKey; // legacy string format
+
+    // Encoded book data (ByteBuffer, or legacy String) -> decoded view, least recently used first
+    private final Map<Object, SpellBookView> viewCache = new LinkedHashMap<>(VIEW_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, SpellBookView> eldest) {
+            return size() > VIEW_CACHE_SIZE;
+        }
+    };
 
     public SpellManager(JavaPlugin plugin) {
         this.plugin = plugin;
         this.spellBookKey = new NamespacedKey(plugin, "spellbook");
+        this.bookDataKey = new NamespacedKey(plugin, "spell_book");
         this.spellDataKey = new NamespacedKey(plugin, "spell_data");
         this.equippedSpellKey = new NamespacedKey(plugin, "equipped_spell");
     }
@@ -54,7 +76,7 @@ public class SpellManager {
         pdc.set(spellBookKey, PersistentDataType.BYTE, (byte) 1);
         
         // Initialize empty spell data
-        pdc.set(spellDataKey, PersistentDataType.STRING, serializeSpellData(new HashMap<>()));
+        writeView(pdc, EMPTY_BOOK);
 
         book.setItemMeta(meta);
         return book;
@@ -65,8 +87,18 @@ public class SpellManager {
      */
     public boolean isSpellBook(ItemStack item) {
         if (item == null || !item.hasItemMeta()) return false;
-        PersistentDataContainer pdc = item.getItemMeta().getPersistentDataContainer();
-        return pdc.has(spellBookKey, PersistentDataType.BYTE);
+        return item.getPersistentDataContainer().has(spellBookKey, PersistentDataType.BYTE);
+    }
+
+    /**
+     * Decodes a spell book once. Returns null if the item is not a spell book.
+     * Prefer this over the individual getters when reading several values.
+     */
+    public SpellBookView view(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return null;
+        PersistentDataContainerView pdc = item.getPersistentDataContainer();
+        if (!pdc.has(spellBookKey, PersistentDataType.BYTE)) return null;
+        return readView(pdc);
     }
 
     /**
@@ -74,13 +106,9 @@ public class SpellManager {
      * Returns a map of Spell -> Level
      */
     public Map<Spell, Integer> getSpellData(ItemStack spellBook) {
-        if (!isSpellBook(spellBook)) return new HashMap<>();
-        
-        ItemMeta meta = spellBook.getItemMeta();
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        String data = pdc.get(spellDataKey, PersistentDataType.STRING);
-        
-        return deserializeSpellData(data);
+        SpellBookView view = view(spellBook);
+        if (view == null) return new HashMap<>();
+        return view.toMap();
     }
 
     /**
@@ -91,7 +119,7 @@ public class SpellManager {
         
         ItemMeta meta = spellBook.getItemMeta();
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        pdc.set(spellDataKey, PersistentDataType.STRING, serializeSpellData(spellData));
+        writeView(pdc, readView(pdc).withLevels(spellData));
         
         // Update lore
         updateSpellBookLore(meta, spellData);
@@ -103,7 +131,8 @@ public class SpellManager {
      * Gets the level of a specific spell in a spell book.
      */
     public int getSpellLevel(ItemStack spellBook, Spell spell) {
-        return getSpellData(spellBook).getOrDefault(spell, 0);
+        SpellBookView view = view(spellBook);
+        return view == null ? 0 : view.getLevel(spell);
     }
 
     /**
@@ -163,22 +192,57 @@ public class SpellManager {
     }
 
     /**
-     * Serializes spell data to a string.
-     * Format: SPELL1:LEVEL,SPELL2:LEVEL
+     * Reads the book data from a spell book's PDC, using the view cache.
      */
-    private String serializeSpellData(Map<Spell, Integer> data) {
-        if (data.isEmpty()) return "";
-        
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<Spell, Integer> entry : data.entrySet()) {
-            if (sb.length() > 0) sb.append(",");
-            sb.append(entry.getKey().name()).append(":").append(entry.getValue());
+    private SpellBookView readView(PersistentDataContainerView pdc) {
+        byte[] data = pdc.get(bookDataKey, PersistentDataType.BYTE_ARRAY);
+        if (data != null) {
+            ByteBuffer fingerprint = ByteBuffer.wrap(data);
+            SpellBookView view = viewCache.get(fingerprint);
+            if (view == null) {
+                view = SpellBookView.decode(data);
+                if (view == null) {
+                    plugin.getLogger().warning("Unrecognized spell book data (version " + (data.length > 0 ? data[0] : -1) + ")");
+                    return EMPTY_BOOK;
+                }
+                viewCache.put(fingerprint, view);
+            }
+            return view;
         }
-        return sb.toString();
+
+        // Legacy string format
+        String spellData = pdc.get(spellDataKey, PersistentDataType.STRING);
+        String equippedName = pdc.get(equippedSpellKey, PersistentDataType.STRING);
+        String fingerprint = spellData + "|" + equippedName;
+
+        SpellBookView view = viewCache.get(fingerprint);
+        if (view == null) {
+            Spell equipped = null;
+            if (equippedName != null && !equippedName.isEmpty()) {
+                try {
+                    equipped = Spell.valueOf(equippedName);
+                } catch (IllegalArgumentException ignored) {
+                    // Unknown spell - treat as nothing equipped
+                }
+            }
+            view = EMPTY_BOOK.withLevels(deserializeSpellData(spellData)).withEquipped(equipped);
+            viewCache.put(fingerprint, view);
+        }
+        return view;
+    }
+
+    /**
+     * Writes book data in the binary layout, dropping any legacy entries.
+     */
+    private void writeView(PersistentDataContainer pdc, SpellBookView view) {
+        pdc.set(bookDataKey, PersistentDataType.BYTE_ARRAY, view.encode());
+        pdc.remove(spellDataKey);
+        pdc.remove(equippedSpellKey);
     }
 
     /**
-     * Deserializes spell data from a string.
+     * Deserializes legacy spell data from a string.
+     * Format: SPELL1:LEVEL,SPELL2:LEVEL
      */
     private Map<Spell, Integer> deserializeSpellData(String data) {
         Map<Spell, Integer> result = new HashMap<>();
@@ -205,19 +269,8 @@ public class SpellManager {
      * Gets the equipped spell from a spell book.
      */
     public Spell getEquippedSpell(ItemStack spellBook) {
-        if (!isSpellBook(spellBook)) return null;
-
-        ItemMeta meta = spellBook.getItemMeta();
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        String spellName = pdc.get(equippedSpellKey, PersistentDataType.STRING);
-
-        if (spellName == null || spellName.isEmpty()) return null;
-
-        try {
-            return Spell.valueOf(spellName);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        SpellBookView view = view(spellBook);
+        return view == null ? null : view.getEquippedSpell();
     }
 
     /**
@@ -228,15 +281,11 @@ public class SpellManager {
 
         ItemMeta meta = spellBook.getItemMeta();
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
-
-        if (spell == null) {
-            pdc.remove(equippedSpellKey);
-        } else {
-            pdc.set(equippedSpellKey, PersistentDataType.STRING, spell.name());
-        }
+        SpellBookView view = readView(pdc);
+        writeView(pdc, view.withEquipped(spell));
 
         // Update lore to show equipped spell
-        updateSpellBookLoreWithEquipped(meta, getSpellData(spellBook), spell);
+        updateSpellBookLoreWithEquipped(meta, view.toMap(), spell);
 
         spellBook.setItemMeta(meta);
     }
@@ -0,0 +1,66 @@
+package me.Anesthyl.enchants.spell;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+
+/**
+ * Tuning values for one spell at one level, read from spells.yml.
+ *
+ * Dev Notes:
+ * - One shared shape for every spell; each SpellHandler documents which
+ *   fields it reads and ignores the rest.
+ * - Durations, delays, intervals, cooldowns and windups are in ticks.
+ * - empowered turns on a spell's extra top-level effects.
+ */
+public record SpellParameters(
+        double manaCost,
+        double range,
+        double radius,
+        double power,
+        double damage,
+        int duration,
+        int amplifier,
+        int particles,
+        int count,
+        int delay,
+        int interval,
+        int cooldown,
+        int windup,
+        Material material,
+        boolean fire,
+        boolean empowered
+) {
+
+    /**
+     * Reads one level's section. An unknown material falls back to STONE
+     * and is added to problems under the given path.
+     */
+    static SpellParameters from(ConfigurationSection section, String path, List<String> problems) {
+        String materialName = section.getString("material", "STONE");
+        Material material = Material.matchMaterial(materialName);
+        if (material == null) {
+            problems.add(path + ".material: unknown material '" + materialName + "', using STONE");
+        }
+
+        return new SpellParameters(
+                section.getDouble("mana-cost"),
+                section.getDouble("range"),
+                section.getDouble("radius"),
+                section.getDouble("power"),
+                section.getDouble("damage"),
+                section.getInt("duration"),
+                section.getInt("amplifier"),
+                section.getInt("particles"),
+                section.getInt("count"),
+                section.getInt("delay"),
+                section.getInt("interval"),
+                section.getInt("cooldown"),
+                section.getInt("windup"),
+                material != null ? material : Material.STONE,
+                section.getBoolean("fire"),
+                section.getBoolean("empowered")
+        );
+    }
+}
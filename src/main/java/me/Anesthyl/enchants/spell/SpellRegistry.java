@@ -0,0 +1,126 @@
+package me.Anesthyl.enchants.spell;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-level spell parameters and the handler that casts each spell.
+ *
+ * Dev Notes:
+ * - spells.yml is compiled once into a SpellParameters table indexed by
+ *   [spell ordinal][level], so a cast is two array lookups.
+ * - Keys missing from the server's spells.yml fall back to the copy
+ *   shipped in the jar.
+ * - A spells.yml that can't be parsed keeps the previous table on reload
+ *   (the shipped defaults on first load). Problems are logged and returned
+ *   so /enchants reload can list them.
+ * - Handlers are registered by whoever implements the effect
+ *   (SpellCastListener) and stored by spell ordinal.
+ */
+public class SpellRegistry {
+    private static final Spell[] SPELLS = Spell.values();
+
+    private final JavaPlugin plugin;
+    private final SpellHandler[] handlers = new SpellHandler[SPELLS.length];
+    private SpellParameters[][] parameters;
+    private int globalCooldown;
+
+    public SpellRegistry(JavaPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Re-read spells.yml and rebuild the parameter table.
+     *
+     * @return problems found while loading (empty if none)
+     */
+    public List<String> reload() {
+        List<String> problems = new ArrayList<>();
+        File file = new File(plugin.getDataFolder(), "spells.yml");
+        if (!file.exists()) {
+            plugin.saveResource("spells.yml", false);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            if (parameters != null) {
+                problems.add("spells.yml could not be loaded, keeping previous spells: " + e.getMessage());
+                return report(problems);
+            }
+            problems.add("spells.yml could not be loaded, using defaults: " + e.getMessage());
+            config = new YamlConfiguration();
+        }
+
+        InputStream shipped = plugin.getResource("spells.yml");
+        if (shipped != null) {
+            config.setDefaults(YamlConfiguration.loadConfiguration(
+                    new InputStreamReader(shipped, StandardCharsets.UTF_8)));
+        }
+
+        SpellParameters[][] table = new SpellParameters[SPELLS.length][];
+        for (Spell spell : SPELLS) {
+            String path = spell.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            SpellParameters[] levels = new SpellParameters[spell.getMaxLevel() + 1];
+
+            for (int level = 1; level <= spell.getMaxLevel(); level++) {
+                ConfigurationSection section = config.getConfigurationSection(path + "." + level);
+                if (section == null) {
+                    problems.add("no entry for " + path + " level " + level);
+                    section = new MemoryConfiguration();
+                }
+                levels[level] = SpellParameters.from(section, path + "." + level, problems);
+            }
+            table[spell.ordinal()] = levels;
+        }
+
+        parameters = table;
+        globalCooldown = Math.max(0, config.getInt("global-cooldown"));
+        return report(problems);
+    }
+
+    private List<String> report(List<String> problems) {
+        for (String problem : problems) {
+            plugin.getLogger().warning("spells.yml: " + problem);
+        }
+        return problems;
+    }
+
+    /**
+     * Ticks after any cast before the same player can cast again.
+     */
+    public int getGlobalCooldown() {
+        return globalCooldown;
+    }
+
+    public void register(Spell spell, SpellHandler handler) {
+        handlers[spell.ordinal()] = handler;
+    }
+
+    public SpellHandler getHandler(Spell spell) {
+        return handlers[spell.ordinal()];
+    }
+
+    /**
+     * Parameters for a spell at a level, or null if the level is out of range.
+     */
+    public SpellParameters getParameters(Spell spell, int level) {
+        SpellParameters[] levels = parameters[spell.ordinal()];
+        if (level < 1 || level >= levels.length) return null;
+        return levels[level];
+    }
+}
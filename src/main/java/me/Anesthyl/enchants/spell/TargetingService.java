@@ -0,0 +1,108 @@
+package me.Anesthyl.enchants.spell;
+
+import me.Anesthyl.enchants.teleport.SafeLanding;
+import org.bukkit.Bukkit;
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves where a player is aiming for targeted spells.
+ *
+ * Dev Notes:
+ * - One World.rayTrace per query. Passable blocks (grass, flowers, etc.)
+ *   are always looked through; fluids and entities are chosen per call.
+ * - The last result per player is memoized for the current tick, so a
+ *   windup re-check or a second spell in the same tick reuses it.
+ * - A miss targets the block at the end of the ray, like getTargetBlock.
+ * - findLanding() only reads columns in chunks that are already loaded.
+ */
+public class TargetingService {
+
+    private final Map<UUID, Memo> memos = new HashMap<>();
+
+    private static final class Memo {
+        int tick;
+        double range;
+        FluidCollisionMode fluids;
+        boolean entities;
+        Location target;
+    }
+
+    /**
+     * Location of the block the player is aiming at within range.
+     *
+     * @param fluids   whether the ray stops at water/lava
+     * @param entities whether living entities (other than the player) stop the ray;
+     *                 a hit entity targets the block it stands in
+     */
+    public Location getTarget(Player player, double range, FluidCollisionMode fluids, boolean entities) {
+        int tick = Bukkit.getCurrentTick();
+        Memo memo = memos.computeIfAbsent(player.getUniqueId(), k -> new Memo());
+        if (memo.target != null && memo.tick == tick && memo.range == range
+                && memo.fluids == fluids && memo.entities == entities) {
+            return memo.target.clone();
+        }
+
+        memo.tick = tick;
+        memo.range = range;
+        memo.fluids = fluids;
+        memo.entities = entities;
+        memo.target = trace(player, range, fluids, entities);
+        return memo.target.clone();
+    }
+
+    /**
+     * Feet location of the nearest safe spot in the target's column, within
+     * radius blocks up or down, or null if there is none or the column's
+     * chunk is not loaded. Keeps the target's x/z and facing.
+     */
+    public Location findLanding(Location target, int radius) {
+        World world = target.getWorld();
+        if (world == null) return null;
+
+        int landingY = SafeLanding.find(world, target.getBlockX(), target.getBlockY(), target.getBlockZ(), radius);
+        if (landingY == SafeLanding.NONE) return null;
+
+        Location landing = target.clone();
+        landing.setY(landingY);
+        return landing;
+    }
+
+    public void removePlayer(Player player) {
+        memos.remove(player.getUniqueId());
+    }
+
+    private Location trace(Player player, double range, FluidCollisionMode fluids, boolean entities) {
+        World world = player.getWorld();
+        Location eye = player.getEyeLocation();
+        Vector direction = eye.getDirection();
+
+        RayTraceResult result = entities
+                ? world.rayTrace(eye, direction, range, fluids, true, 0.0,
+                        entity -> entity != player && entity instanceof LivingEntity)
+                : world.rayTraceBlocks(eye, direction, range, fluids, true);
+
+        if (result != null) {
+            Block block = result.getHitBlock();
+            if (block != null) return block.getLocation();
+
+            Entity entity = result.getHitEntity();
+            if (entity != null) return entity.getLocation().getBlock().getLocation();
+        }
+
+        // Nothing in range - target the end of the ray (without touching its chunk)
+        Location end = eye.add(direction.multiply(range));
+        return new Location(world, end.getBlockX(), end.getBlockY(), end.getBlockZ());
+    }
+}
@@ -0,0 +1,39 @@
+package me.Anesthyl.enchants.stat;
+
+/**
+ * Immutable snapshot of the stats used on every hit, as ready-to-use factors.
+ *
+ * Dev Notes:
+ * - Rebuilt by StatManager only when a player's equipment stats actually
+ *   changed, so the combat pipeline reads plain fields instead of stat lookups.
+ */
+public record CombatProfile(
+        double damageMultiplier,  // e.g. 1.15 for +15% damage
+        double defenseMultiplier, // e.g. 0.85 = takes 85% of damage
+        double critChance,        // 0.0 to 1.0
+        double critMultiplier,    // e.g. 1.5 for +50% crit damage
+        double lifesteal          // fraction of damage dealt healed, 0.0 to 1.0
+) {
+
+    /** Profile of a player with no stat bonuses. */
+    public static final CombatProfile NEUTRAL = new CombatProfile(1.0, 1.0, 0.0, 1.0, 0.0);
+
+    /**
+     * Profile for the given stats; the shared NEUTRAL instance when every
+     * factor is neutral (the common case of no combat stats).
+     */
+    public static CombatProfile of(PlayerStats stats) {
+        double damage = 1.0 + stats.getStat(StatType.DAMAGE) / 100.0;
+        double defense = Math.max(1.0 - stats.getStat(StatType.DEFENSE) / 100.0, 0.0);
+        double critChance = Math.min(stats.getStat(StatType.CRIT_CHANCE) / 100.0, 1.0); // Cap at 100%
+        double critMultiplier = 1.0 + stats.getStat(StatType.CRIT_DAMAGE) / 100.0;
+        double lifesteal = Math.min(stats.getStat(StatType.LIFESTEAL) / 100.0, 1.0);    // Cap at 100%
+
+        if (damage == NEUTRAL.damageMultiplier && defense == NEUTRAL.defenseMultiplier
+                && critChance == NEUTRAL.critChance && critMultiplier == NEUTRAL.critMultiplier
+                && lifesteal == NEUTRAL.lifesteal) {
+            return NEUTRAL;
+        }
+        return new CombatProfile(damage, defense, critChance, critMultiplier, lifesteal);
+    }
+}
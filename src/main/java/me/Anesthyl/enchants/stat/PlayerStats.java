@@ -1,6 +1,7 @@
 package me.Anesthyl.enchants.stat;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -8,53 +9,70 @@ import java.util.Map;
  * 
  * Stats are stored as percentages (e.g., 15.0 = +15%).
  * All stats default to 0 (no bonus).
+ *
+ * Dev Notes:
+ * - Values live in a double[] indexed by StatType.ordinal(), so reads,
+ *   adds and resets never box.
  */
 public class PlayerStats {
     
-    private final Map<StatType, Double> stats = new HashMap<>();
-    
-    public PlayerStats() {
-        // Initialize all stats to 0
-        for (StatType type : StatType.values()) {
-            stats.put(type, 0.0);
-        }
-    }
+    private static final StatType[] TYPES = StatType.values();
+
+    private final double[] stats = new double[TYPES.length];
     
     /**
      * Set a stat to an absolute value.
      */
     public void setStat(StatType type, double value) {
-        stats.put(type, value);
+        stats[type.ordinal()] = value;
     }
     
     /**
      * Add to an existing stat (cumulative).
      */
     public void addStat(StatType type, double value) {
-        stats.put(type, stats.getOrDefault(type, 0.0) + value);
+        stats[type.ordinal()] += value;
+    }
+
+    /**
+     * Add to a stat by ordinal (used by StatVector).
+     */
+    void addStat(int ordinal, double value) {
+        stats[ordinal] += value;
+    }
+    
+    /**
+     * Add every stat of another PlayerStats (used to sum slot contributions).
+     */
+    void addAll(PlayerStats other) {
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] += other.stats[i];
+        }
     }
     
     /**
      * Get the current value of a stat.
      */
     public double getStat(StatType type) {
-        return stats.getOrDefault(type, 0.0);
+        return stats[type.ordinal()];
     }
     
     /**
      * Reset all stats to 0.
      */
     public void reset() {
-        for (StatType type : StatType.values()) {
-            stats.put(type, 0.0);
-        }
+        Arrays.fill(stats, 0.0);
     }
     
     /**
      * Get a copy of all stats.
      */
     public Map<StatType, Double> getAll() {
-        return new HashMap<>(stats);
+        Map<StatType, Double> copy = new EnumMap<>(StatType.class);
+        for (StatType type : TYPES) {
+            copy.put(type, stats[type.ordinal()]);
+        }
+        return copy;
     }
     
     /**
@@ -66,7 +84,7 @@ public class PlayerStats {
         sb.append("§ePlayer Stats§f\n");
         sb.append("§f═══════════════════\n");
         
-        for (StatType type : StatType.values()) {
+        for (StatType type : TYPES) {
             double value = getStat(type);
             if (value != 0.0) {
                 String prefix = value > 0 ? "§a" : "§c";
@@ -82,7 +100,7 @@ public class PlayerStats {
     @Override
     public String toString() {
         return "PlayerStats{" +
-                "stats=" + stats +
+                "stats=" + getAll() +
                 '}';
     }
 }
@@ -1,14 +1,39 @@
 package me.Anesthyl.enchants.stat;
 
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
 import me.Anesthyl.enchants.enchantsystem.CustomEnchant;
+import me.Anesthyl.enchants.enchantsystem.EnchantCapability;
 import me.Anesthyl.enchants.enchantsystem.EnchantManager;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
 import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.EquipmentSlotGroup;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Manages all player stats.
@@ -18,126 +43,338 @@ import java.util.Map;
  * - Calculate stat bonuses from enchants
  * - Apply stat effects (health, speed, etc.)
  * - Recalculate when enchants change
+ *
+ * Dev Notes:
+ * - Each player keeps the stat contribution of every equipment slot.
+ *   Equipment events only mark the affected slots dirty; the next tick
+ *   re-reads just those slots and re-sums the totals, so several changes
+ *   in one tick cost a single recalculation.
+ * - A dirty slot whose item is unchanged (isSimilar) is not decoded again.
+ * - Attribute stats are transient AttributeModifiers keyed by this plugin,
+ *   so base values (and other plugins' modifiers) are left alone. The
+ *   last applied amount is remembered per attribute and unchanged ones
+ *   cause no attribute updates.
  */
-public class StatManager {
+public class StatManager implements Listener {
+
+    private static final EquipmentSlot[] SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS,
+            EquipmentSlot.FEET, EquipmentSlot.HAND, EquipmentSlot.OFF_HAND
+    };
+    private static final int ALL_SLOTS = (1 << SLOTS.length) - 1;
+    private static final int HANDS = mask(EquipmentSlot.HAND) | mask(EquipmentSlot.OFF_HAND);
+
+    private static final double EPSILON = 1.0E-4;
+
+    /**
+     * A stat applied through a vanilla attribute. Percent stats use
+     * ADD_SCALAR (base * (1 + bonus%)); knockback resistance is flat, capped at 100%.
+     * playerBase is the vanilla player base value of the attribute.
+     */
+    private record StatAttribute(StatType stat, Attribute attribute, String key,
+                                 AttributeModifier.Operation operation, double max, double playerBase) {
+        double amount(double value) {
+            return Math.min(value / 100.0, max);
+        }
+
+        /** The base value older versions wrote for this amount. */
+        double legacyBase(double amount) {
+            return operation == AttributeModifier.Operation.ADD_SCALAR
+                    ? playerBase * (1.0 + amount)
+                    : playerBase + amount;
+        }
+    }
+
+    private static final StatAttribute[] ATTRIBUTE_STATS = {
+            new StatAttribute(StatType.MAX_HEALTH, Attribute.MAX_HEALTH, "stat_max_health",
+                    AttributeModifier.Operation.ADD_SCALAR, Double.MAX_VALUE, 20.0),
+            new StatAttribute(StatType.MOVEMENT_SPEED, Attribute.MOVEMENT_SPEED, "stat_movement_speed",
+                    AttributeModifier.Operation.ADD_SCALAR, Double.MAX_VALUE, 0.1),
+            new StatAttribute(StatType.ATTACK_SPEED, Attribute.ATTACK_SPEED, "stat_attack_speed",
+                    AttributeModifier.Operation.ADD_SCALAR, Double.MAX_VALUE, 4.0),
+            new StatAttribute(StatType.KNOCKBACK_RESISTANCE, Attribute.KNOCKBACK_RESISTANCE, "stat_knockback_resistance",
+                    AttributeModifier.Operation.ADD_NUMBER, 1.0, 0.0)
+    };
     
     private final JavaPlugin plugin;
     private final EnchantManager enchantManager;
-    private final Map<String, PlayerStats> playerStats = new HashMap<>();
+    private final Map<UUID, Loadout> loadouts = new HashMap<>();
+    private final NamespacedKey[] attributeKeys = new NamespacedKey[ATTRIBUTE_STATS.length];
+    private final NamespacedKey baseMigratedKey;
+
+    // Players with dirty slots, recalculated together on the next tick
+    private final Set<UUID> pending = new LinkedHashSet<>();
+
+    /**
+     * A player's total stats plus the cached contribution of each slot.
+     */
+    private static final class Loadout {
+        final PlayerStats total = new PlayerStats();
+        final PlayerStats[] slotStats = new PlayerStats[SLOTS.length];
+        final ItemStack[] slotItems = new ItemStack[SLOTS.length];
+        final double[] applied = new double[ATTRIBUTE_STATS.length]; // last modifier amounts
+        CombatProfile combat = CombatProfile.NEUTRAL;
+        int dirty = ALL_SLOTS;
+        boolean baseChecked; // legacy base values looked at this session
+
+        Loadout() {
+            for (int i = 0; i < SLOTS.length; i++) {
+                slotStats[i] = new PlayerStats();
+            }
+        }
+    }
     
     public StatManager(JavaPlugin plugin, EnchantManager enchantManager) {
         this.plugin = plugin;
         this.enchantManager = enchantManager;
+        for (int i = 0; i < ATTRIBUTE_STATS.length; i++) {
+            attributeKeys[i] = new NamespacedKey(plugin, ATTRIBUTE_STATS[i].key());
+        }
+        this.baseMigratedKey = new NamespacedKey(plugin, "stat_base_migrated");
     }
     
     /**
      * Get or create a player's stats.
      */
     public PlayerStats getPlayerStats(Player player) {
-        String uuid = player.getUniqueId().toString();
-        return playerStats.computeIfAbsent(uuid, k -> new PlayerStats());
+        return loadout(player).total;
     }
     
     /**
      * Remove player stats when they leave.
      */
     public void removePlayer(Player player) {
-        playerStats.remove(player.getUniqueId().toString());
+        loadouts.remove(player.getUniqueId());
+        pending.remove(player.getUniqueId());
     }
     
     /**
-     * Recalculate all stats for a player based on their equipped items.
-     * Call this when a player equips a new item or gains an enchant.
+     * Recalculate all stats for a player right away.
+     * Equipment changes are picked up automatically; use this when stats
+     * must be correct immediately (e.g. on join).
      */
     public void recalculateStats(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.reset();
-        
-        // Sum stats from all equipped items
-        for (ItemStack item : player.getInventory().getArmorContents()) {
-            addItemStats(player, item, stats);
+        Loadout loadout = loadout(player);
+        loadout.dirty = ALL_SLOTS;
+        pending.remove(player.getUniqueId());
+        recalculate(player, loadout);
+    }
+
+    // ------------------------------
+    // Incremental Recalculation
+    // ------------------------------
+
+    private Loadout loadout(Player player) {
+        Loadout loadout = loadouts.get(player.getUniqueId());
+        if (loadout == null) {
+            loadout = new Loadout();
+            loadouts.put(player.getUniqueId(), loadout);
         }
-        
-        // Include main hand
-        ItemStack mainHand = player.getInventory().getItemInMainHand();
-        if (mainHand != null) {
-            addItemStats(player, mainHand, stats);
+        return loadout;
+    }
+
+    private static int mask(EquipmentSlot slot) {
+        for (int i = 0; i < SLOTS.length; i++) {
+            if (SLOTS[i] == slot) return 1 << i;
         }
-        
-        // Include off-hand
-        ItemStack offHand = player.getInventory().getItemInOffHand();
-        if (offHand != null) {
-            addItemStats(player, offHand, stats);
+        return 0;
+    }
+
+    /**
+     * Mark slots dirty and schedule a recalculation for the next tick.
+     */
+    private void markDirty(Player player, int slots) {
+        if (slots == 0) return;
+        loadout(player).dirty |= slots;
+
+        if (pending.isEmpty()) {
+            Bukkit.getScheduler().runTask(plugin, this::flush);
         }
-        
-        // Apply stat effects to the player
-        applyStatEffects(player, stats);
+        pending.add(player.getUniqueId());
+    }
+
+    private void flush() {
+        for (UUID uuid : pending) {
+            Player player = Bukkit.getPlayer(uuid);
+            Loadout loadout = loadouts.get(uuid);
+            if (player != null && loadout != null) {
+                recalculate(player, loadout);
+            }
+        }
+        pending.clear();
+    }
+
+    private void recalculate(Player player, Loadout loadout) {
+        boolean changed = false;
+        for (int i = 0; i < SLOTS.length; i++) {
+            if ((loadout.dirty & (1 << i)) == 0) continue;
+
+            ItemStack item = player.getInventory().getItem(SLOTS[i]);
+            if (item.isEmpty()) item = null;
+
+            ItemStack cached = loadout.slotItems[i];
+            if (item == null ? cached == null : item.isSimilar(cached)) continue;
+
+            loadout.slotItems[i] = item == null ? null : item.clone();
+            loadout.slotStats[i].reset();
+            addItemStats(item, loadout.slotStats[i]);
+            changed = true;
+        }
+        loadout.dirty = 0;
+
+        // Sum the slot contributions; unchanged slots leave the totals as they were
+        if (changed) {
+            PlayerStats total = loadout.total;
+            total.reset();
+            for (PlayerStats slot : loadout.slotStats) {
+                total.addAll(slot);
+            }
+            loadout.combat = CombatProfile.of(total);
+        }
+
+        if (!loadout.baseChecked) {
+            migrateLegacyBaseValues(player, loadout.total);
+            loadout.baseChecked = true;
+        }
+
+        // Apply stat effects to the player (re-applies after respawn)
+        applyStatEffects(player, loadout);
     }
     
     /**
      * Add stat bonuses from a single item's enchants.
      */
-    private void addItemStats(Player player, ItemStack item, PlayerStats stats) {
+    private void addItemStats(ItemStack item, PlayerStats stats) {
         if (item == null || item.getType().isAir()) return;
         
-        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(item);
+        Map<CustomEnchant, Integer> enchants = enchantManager.getItemEnchants(item, EnchantCapability.PASSIVE_STAT);
         for (Map.Entry<CustomEnchant, Integer> entry : enchants.entrySet()) {
-            CustomEnchant enchant = entry.getKey();
-            int level = entry.getValue();
-            
-            // Get stat bonuses from enchant (scaled by level)
-            // This assumes enchants will override getStatBonus() method
-            for (StatType type : StatType.values()) {
-                double bonus = enchant.getStatBonus(type, level);
-                if (bonus != 0.0) {
-                    stats.addStat(type, bonus);
-                }
-            }
+            // Precomputed stat bonuses for this enchant level (usually empty)
+            entry.getKey().getStatVector(entry.getValue()).addTo(stats);
         }
     }
+
+    // ------------------------------
+    // Equipment Events
+    // ------------------------------
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        markDirty(event.getPlayer(), mask(event.getSlot()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldSlotChange(PlayerItemHeldEvent event) {
+        markDirty(event.getPlayer(), mask(EquipmentSlot.HAND));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        markDirty(event.getPlayer(), HANDS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        // Armor slots report through PlayerArmorChangeEvent
+        if (event.getWhoClicked() instanceof Player player) markDirty(player, HANDS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) markDirty(player, HANDS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) markDirty(player, HANDS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer(), HANDS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        markDirty(event.getEntity(), ALL_SLOTS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        // The respawned player starts without our transient modifiers
+        Arrays.fill(loadout(event.getPlayer()).applied, Double.NaN);
+        markDirty(event.getPlayer(), ALL_SLOTS);
+    }
     
     /**
      * Apply stat effects to a player (e.g., increase max health, speed, etc.).
-     * This uses Bukkit attributes for mechanical effects.
-     */
-    private void applyStatEffects(Player player, PlayerStats stats) {
-        try {
-            // Max Health (scales health attribute)
-            double healthBonus = stats.getStat(StatType.MAX_HEALTH);
-            double baseHealth = 20.0; // Vanilla base
-            player.getAttribute(Attribute.MAX_HEALTH)
-                    .setBaseValue(baseHealth * (1.0 + healthBonus / 100.0));
-            
-            // Movement Speed
-            double speedBonus = stats.getStat(StatType.MOVEMENT_SPEED);
-            double baseSpeed = 0.1; // Vanilla base
-            player.getAttribute(Attribute.MOVEMENT_SPEED)
-                    .setBaseValue(baseSpeed * (1.0 + speedBonus / 100.0));
-            
-            // Attack Speed
-            double attackSpeedBonus = stats.getStat(StatType.ATTACK_SPEED);
-            double baseAttackSpeed = 4.0; // Vanilla base
-            player.getAttribute(Attribute.ATTACK_SPEED)
-                    .setBaseValue(baseAttackSpeed * (1.0 + attackSpeedBonus / 100.0));
-            
-            // Knockback Resistance
-            double knockbackResist = stats.getStat(StatType.KNOCKBACK_RESISTANCE);
-            player.getAttribute(Attribute.KNOCKBACK_RESISTANCE)
-                    .setBaseValue(Math.min(knockbackResist / 100.0, 1.0)); // capped at 100%
-            
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to apply stat effects to " + player.getName() + ": " + e.getMessage());
+     * Each stat is one transient modifier owned by this plugin; a modifier is
+     * only touched when its value moved by more than EPSILON.
+     */
+    private void applyStatEffects(Player player, Loadout loadout) {
+        PlayerStats stats = loadout.total;
+        for (int i = 0; i < ATTRIBUTE_STATS.length; i++) {
+            StatAttribute spec = ATTRIBUTE_STATS[i];
+            double amount = spec.amount(stats.getStat(spec.stat()));
+            if (Math.abs(amount - loadout.applied[i]) <= EPSILON) continue;
+
+            AttributeInstance instance = player.getAttribute(spec.attribute());
+            if (instance == null) continue;
+
+            try {
+                instance.removeModifier(attributeKeys[i]);
+                if (Math.abs(amount) > EPSILON) {
+                    instance.addTransientModifier(new AttributeModifier(
+                            attributeKeys[i], amount, spec.operation(), EquipmentSlotGroup.ANY));
+                }
+                loadout.applied[i] = amount;
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to apply stat effects to " + player.getName() + ": " + e.getMessage());
+            }
         }
     }
+
+    /**
+     * Older versions stored stats in the base values, which are saved with
+     * the player. Put those back to the player defaults so the modifiers
+     * don't stack on top of them.
+     *
+     * Runs once per player (marked in their PDC), and only undoes a base
+     * value that matches what the old code wrote for the current equipment,
+     * so bases set by other plugins or commands are left alone.
+     */
+    private void migrateLegacyBaseValues(Player player, PlayerStats stats) {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        if (pdc.has(baseMigratedKey, PersistentDataType.BYTE)) return;
+
+        for (StatAttribute spec : ATTRIBUTE_STATS) {
+            AttributeInstance instance = player.getAttribute(spec.attribute());
+            if (instance == null) continue;
+
+            double base = instance.getBaseValue();
+            double legacy = spec.legacyBase(spec.amount(stats.getStat(spec.stat())));
+            if (base != spec.playerBase() && Math.abs(base - legacy) <= EPSILON) {
+                instance.setBaseValue(spec.playerBase());
+            }
+        }
+        pdc.set(baseMigratedKey, PersistentDataType.BYTE, (byte) 1);
+    }
     
+    /**
+     * Combat factors for a player, rebuilt whenever their stats are
+     * recalculated. Players without stats get CombatProfile.NEUTRAL.
+     */
+    public CombatProfile getCombatProfile(Player player) {
+        Loadout loadout = loadouts.get(player.getUniqueId());
+        return loadout == null ? CombatProfile.NEUTRAL : loadout.combat;
+    }
+
     /**
      * Get damage multiplier for a player (used in damage calculations).
      * Returns value like 1.15 for +15% damage.
      */
     public double getDamageMultiplier(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        double damageBonus = stats.getStat(StatType.DAMAGE);
-        return 1.0 + (damageBonus / 100.0);
+        return getCombatProfile(player).damageMultiplier();
     }
     
     /**
@@ -145,18 +382,14 @@ public class StatManager {
      * Returns value like 0.85 for 15% reduction (takes 85% of damage).
      */
     public double getDefenseMultiplier(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        double defenseBonus = stats.getStat(StatType.DEFENSE);
-        return Math.max(1.0 - (defenseBonus / 100.0), 0.0);
+        return getCombatProfile(player).defenseMultiplier();
     }
     
     /**
      * Get crit chance as a decimal (0.0 to 1.0).
      */
     public double getCritChance(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        double critChance = stats.getStat(StatType.CRIT_CHANCE);
-        return Math.min(critChance / 100.0, 1.0); // Cap at 100%
+        return getCombatProfile(player).critChance();
     }
     
     /**
@@ -164,18 +397,14 @@ public class StatManager {
      * Returns value like 1.5 for +50% crit damage.
      */
     public double getCritDamage(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        double critDamage = stats.getStat(StatType.CRIT_DAMAGE);
-        return 1.0 + (critDamage / 100.0);
+        return getCombatProfile(player).critMultiplier();
     }
     
     /**
      * Get lifesteal percentage (0.0 to 1.0).
      */
     public double getLifesteal(Player player) {
-        PlayerStats stats = getPlayerStats(player);
-        double lifesteal = stats.getStat(StatType.LIFESTEAL);
-        return Math.min(lifesteal / 100.0, 1.0); // Cap at 100%
+        return getCombatProfile(player).lifesteal();
     }
     
     /**
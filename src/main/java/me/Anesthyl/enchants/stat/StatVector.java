@@ -0,0 +1,60 @@
+package me.Anesthyl.enchants.stat;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sparse, immutable set of stat bonuses (only non-zero stats are stored).
+ *
+ * Dev Notes:
+ * - Built once per enchant level at registration (see CustomEnchant),
+ *   so stat recalculation is a few array adds per enchant.
+ */
+public final class StatVector {
+
+    public static final StatVector EMPTY = new StatVector(new int[0], new double[0]);
+
+    private static final StatType[] TYPES = StatType.values();
+
+    private final int[] ordinals;
+    private final double[] values;
+
+    private StatVector(int[] ordinals, double[] values) {
+        this.ordinals = ordinals;
+        this.values = values;
+    }
+
+    /**
+     * Collect the non-zero bonuses reported for each stat type.
+     */
+    public static StatVector of(ToDoubleFunction<StatType> bonus) {
+        int[] ordinals = new int[TYPES.length];
+        double[] values = new double[TYPES.length];
+        int size = 0;
+
+        for (StatType type : TYPES) {
+            double value = bonus.applyAsDouble(type);
+            if (value != 0.0) {
+                ordinals[size] = type.ordinal();
+                values[size] = value;
+                size++;
+            }
+        }
+
+        if (size == 0) return EMPTY;
+        return new StatVector(Arrays.copyOf(ordinals, size), Arrays.copyOf(values, size));
+    }
+
+    public boolean isEmpty() {
+        return ordinals.length == 0;
+    }
+
+    /**
+     * Add every bonus in this vector to the player's stats.
+     */
+    public void addTo(PlayerStats stats) {
+        for (int i = 0; i < ordinals.length; i++) {
+            stats.addStat(ordinals[i], values[i]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.Anesthyl.enchants.teleport;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Finds a spot a player can stand in, reading a single block column.
+ *
+ * Dev Notes:
+ * - A spot is safe when the block below is solid ground and the feet and
+ *   head blocks are passable; anything in DANGEROUS counts as neither.
+ * - Searches the column outward from the requested height (y, y+1, y-1,
+ *   y+2, ...), so the result stays as close to the target as possible.
+ * - Coordinates are absolute. Only loaded chunks are read; the search
+ *   never loads or copies a chunk.
+ */
+public final class SafeLanding {
+
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final Set<Material> DANGEROUS = EnumSet.of(
+            Material.LAVA,
+            Material.FIRE,
+            Material.SOUL_FIRE,
+            Material.MAGMA_BLOCK,
+            Material.CACTUS,
+            Material.CAMPFIRE,
+            Material.SOUL_CAMPFIRE,
+            Material.SWEET_BERRY_BUSH,
+            Material.WITHER_ROSE,
+            Material.POWDER_SNOW,
+            Material.POINTED_DRIPSTONE
+    );
+
+    private SafeLanding() {
+    }
+
+    /**
+     * Returns the feet y of the nearest safe spot within radius of y, or NONE.
+     * Returns NONE without reading any blocks if the column's chunk is not
+     * loaded.
+     */
+    public static int find(World world, int x, int y, int z, int radius) {
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) return NONE;
+
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        for (int offset = 0; offset <= radius; offset++) {
+            if (isSafe(world, x, y + offset, z, minY, maxY)) return y + offset;
+            if (offset > 0 && isSafe(world, x, y - offset, z, minY, maxY)) return y - offset;
+        }
+        return NONE;
+    }
+
+    private static boolean isSafe(World world, int x, int y, int z, int minY, int maxY) {
+        if (y - 1 < minY || y + 1 >= maxY) return false;
+
+        return isGround(world.getType(x, y - 1, z))
+                && isPassable(world.getType(x, y, z))
+                && isPassable(world.getType(x, y + 1, z));
+    }
+
+    private static boolean isGround(Material type) {
+        return type.isSolid() && !DANGEROUS.contains(type);
+    }
+
+    private static boolean isPassable(Material type) {
+        return !type.isSolid() && !DANGEROUS.contains(type);
+    }
+}
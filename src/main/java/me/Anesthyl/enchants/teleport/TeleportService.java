@@ -0,0 +1,304 @@
+package me.Anesthyl.enchants.teleport;
+
+import me.Anesthyl.enchants.settings.PluginSettings;
+import me.Anesthyl.enchants.settings.SettingsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Teleports players without loading or generating chunks on the main thread.
+ *
+ * Dev Notes:
+ * - The destination chunk and its neighbours are requested with
+ *   getChunkAtAsync as soon as a teleport starts, so they are usually
+ *   ready by the time the warmup ends. Plugin chunk tickets keep them
+ *   loaded until the teleport completes. Overlapping teleports share
+ *   tickets through a per-chunk count; a ticket is removed only when the
+ *   last teleport holding it releases.
+ * - The landing spot is picked by reading the destination column of the
+ *   loaded chunk (see SafeLanding), then the player is moved with
+ *   teleportAsync.
+ * - Warps use a warmup (cancelled by entering another block, reported by
+ *   MovementDispatcher) and a cooldown; spells teleport immediately.
+ * - Results are delivered on the main thread.
+ */
+public class TeleportService implements Listener {
+
+    private static final int WARM_RADIUS = 1; // chunks around the destination
+
+    private final JavaPlugin plugin;
+    private final SettingsManager settings;
+
+    // Warps waiting for their warmup to finish
+    private final Map<UUID, Pending> pending = new HashMap<>();
+
+    // Tick of each player's last completed warp
+    private final Map<UUID, Integer> lastWarpTick = new HashMap<>();
+
+    // Teleports holding our plugin ticket on each chunk, per world
+    private final Map<UUID, Map<Long, Integer>> ticketCounts = new HashMap<>();
+
+    public enum Result {
+        SUCCESS,
+        MOVED,
+        NO_SAFE_SPOT,
+        FAILED
+    }
+
+    private static final class Pending {
+        final Tickets tickets;
+        final Consumer<Result> callback;
+        BukkitTask task;
+
+        Pending(Tickets tickets, Consumer<Result> callback) {
+            this.tickets = tickets;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Chunks one teleport holds a ticket on, released together.
+     */
+    private static final class Tickets {
+        final World world;
+        final List<Long> held = new ArrayList<>();
+        CompletableFuture<Chunk> destination; // completes once every ticket is added
+
+        Tickets(World world) {
+            this.world = world;
+        }
+    }
+
+    public TeleportService(JavaPlugin plugin, SettingsManager settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    // ------------------------------
+    // Public API
+    // ------------------------------
+
+    /**
+     * Seconds left on a player's warp cooldown, or 0 if they can warp.
+     */
+    public int getCooldownSeconds(Player player) {
+        Integer last = lastWarpTick.get(player.getUniqueId());
+        if (last == null) return 0;
+
+        int remaining = last + settings.get().warps().cooldownTicks() - Bukkit.getCurrentTick();
+        return remaining <= 0 ? 0 : (remaining + 19) / 20;
+    }
+
+    /**
+     * Warp with warmup and cooldown. Chunks start loading immediately.
+     * Any warp already warming up for this player is cancelled.
+     */
+    public void warp(Player player, Location destination, Consumer<Result> callback) {
+        cancel(player, null);
+
+        PluginSettings.WarpSettings warps = settings.get().warps();
+        UUID uuid = player.getUniqueId();
+        Tickets tickets = preload(destination);
+        Pending warmup = new Pending(tickets, callback);
+        pending.put(uuid, warmup);
+
+        warmup.task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (!pending.remove(uuid, warmup)) return;
+
+            land(player, destination, tickets, warps.landingSearchRadius(), result -> {
+                if (result == Result.SUCCESS) {
+                    lastWarpTick.put(uuid, Bukkit.getCurrentTick());
+                }
+                callback.accept(result);
+            });
+        }, warps.warmupTicks());
+    }
+
+    /**
+     * Current warp warmup, in ticks.
+     */
+    public long getWarmupTicks() {
+        return settings.get().warps().warmupTicks();
+    }
+
+    /**
+     * Teleport immediately (no warmup or cooldown), searching up to
+     * searchRadius blocks up and down for a safe spot.
+     */
+    public void teleportNow(Player player, Location destination, int searchRadius, Consumer<Result> callback) {
+        land(player, destination, preload(destination), searchRadius, callback);
+    }
+
+    // ------------------------------
+    // Warmup Cancellation
+    // ------------------------------
+
+    /**
+     * Called by MovementDispatcher when the player enters a new block.
+     */
+    public void onBlockMove(Player player) {
+        if (pending.isEmpty()) return;
+        cancel(player, Result.MOVED);
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        cancel(event.getPlayer(), null);
+        lastWarpTick.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Cancel a warming-up warp. A null reason cancels it silently.
+     */
+    private void cancel(Player player, Result reason) {
+        Pending warmup = pending.remove(player.getUniqueId());
+        if (warmup != null) {
+            warmup.task.cancel();
+            // Drop the chunk tickets once the preload settles
+            Tickets tickets = warmup.tickets;
+            tickets.destination.whenComplete((chunk, error) -> sync(() -> release(tickets)));
+
+            if (reason != null) warmup.callback.accept(reason);
+        }
+    }
+
+    // ------------------------------
+    // Pipeline
+    // ------------------------------
+
+    /**
+     * Request the destination chunk and its neighbours asynchronously.
+     * Each chunk gets a plugin ticket so it stays loaded until release().
+     * The destination future completes once every ticket has been added.
+     */
+    private Tickets preload(Location destination) {
+        World world = destination.getWorld();
+        int centerX = destination.getBlockX() >> 4;
+        int centerZ = destination.getBlockZ() >> 4;
+        Tickets tickets = new Tickets(world);
+
+        int width = WARM_RADIUS * 2 + 1;
+        CompletableFuture<?>[] ring = new CompletableFuture<?>[width * width];
+        CompletableFuture<Chunk> center = null;
+        int i = 0;
+
+        for (int dx = -WARM_RADIUS; dx <= WARM_RADIUS; dx++) {
+            for (int dz = -WARM_RADIUS; dz <= WARM_RADIUS; dz++) {
+                CompletableFuture<Chunk> future = world.getChunkAtAsync(centerX + dx, centerZ + dz)
+                        .thenApply(chunk -> {
+                            retain(tickets, chunk);
+                            return chunk;
+                        });
+                ring[i++] = future;
+                if (dx == 0 && dz == 0) center = future;
+            }
+        }
+
+        CompletableFuture<Chunk> destinationChunk = center;
+        tickets.destination = CompletableFuture.allOf(ring).thenCompose(ignored -> destinationChunk);
+        return tickets;
+    }
+
+    /**
+     * Hold a ticket on a loaded chunk. Only the first holder adds the
+     * plugin ticket. Runs on the main thread (getChunkAtAsync completes there).
+     */
+    private void retain(Tickets tickets, Chunk chunk) {
+        long key = chunkKey(chunk.getX(), chunk.getZ());
+        Map<Long, Integer> counts = ticketCounts.computeIfAbsent(tickets.world.getUID(), k -> new HashMap<>());
+        if (counts.merge(key, 1, Integer::sum) == 1) {
+            chunk.addPluginChunkTicket(plugin);
+        }
+        tickets.held.add(key);
+    }
+
+    /**
+     * Give up every ticket this teleport holds. The plugin ticket on a
+     * chunk is removed only when no other teleport still holds it.
+     */
+    private void release(Tickets tickets) {
+        UUID worldId = tickets.world.getUID();
+        Map<Long, Integer> counts = ticketCounts.get(worldId);
+        if (counts == null) return;
+
+        for (long key : tickets.held) {
+            Integer count = counts.get(key);
+            if (count == null) continue;
+
+            if (count > 1) {
+                counts.put(key, count - 1);
+            } else {
+                counts.remove(key);
+                tickets.world.removePluginChunkTicket((int) (key >> 32), (int) key, plugin);
+            }
+        }
+        tickets.held.clear();
+        if (counts.isEmpty()) ticketCounts.remove(worldId);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private void land(Player player, Location destination, Tickets tickets,
+                      int searchRadius, Consumer<Result> callback) {
+        World world = destination.getWorld();
+
+        tickets.destination.whenComplete((chunk, error) -> sync(() -> {
+            if (error != null || !player.isOnline()) {
+                release(tickets);
+                callback.accept(Result.FAILED);
+                return;
+            }
+
+            // The chunk is loaded and ticketed, so read the column in place
+            // instead of copying the whole chunk into a snapshot
+            int blockY = destination.getBlockY();
+            int landingY = SafeLanding.find(world,
+                    destination.getBlockX(), blockY, destination.getBlockZ(), searchRadius);
+
+            if (landingY == SafeLanding.NONE) {
+                release(tickets);
+                callback.accept(Result.NO_SAFE_SPOT);
+                return;
+            }
+
+            Location landing = destination.clone();
+            if (landingY != blockY) {
+                landing.setY(landingY);
+            }
+
+            player.teleportAsync(landing, PlayerTeleportEvent.TeleportCause.PLUGIN)
+                    .whenComplete((success, teleportError) -> sync(() -> {
+                        release(tickets);
+                        callback.accept(teleportError == null && Boolean.TRUE.equals(success)
+                                ? Result.SUCCESS : Result.FAILED);
+                    }));
+        }));
+    }
+
+    private void sync(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+}
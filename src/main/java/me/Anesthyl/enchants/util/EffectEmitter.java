@@ -0,0 +1,171 @@
+package me.Anesthyl.enchants.util;
+
+import me.Anesthyl.enchants.settings.PluginSettings;
+import me.Anesthyl.enchants.settings.SettingsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Central particle and sound output for spells and enchants.
+ *
+ * Dev Notes:
+ * - Particles are sent per viewer, only to players within VIEW_RADIUS
+ *   (found through EntitySpatialIndex). Counts scale down with distance
+ *   and with crowd size, so a 30-player fight doesn't get 30 full bursts.
+ *   Viewers whose scaled count rounds to 0 get nothing.
+ * - Every particle sent to a viewer is charged to a per-tick budget and to
+ *   the budget of the chunk it was emitted in (spells.particles in config.yml).
+ *   Chunk budgets are kept per world, so the same chunk coordinates in the
+ *   overworld and the nether don't share one. Once a budget runs out the
+ *   remaining bursts in that tick are trimmed, then dropped.
+ * - Identical sounds (same sound, block and pitch) are played once per
+ *   tick; the rest are dropped.
+ * - Budgets reset lazily on the first call of a new tick, no task needed.
+ */
+public class EffectEmitter {
+
+    private static final double VIEW_RADIUS = 32.0;     // clients don't render non-forced particles further
+    private static final double FULL_DETAIL_RADIUS = 16.0;
+    private static final double MIN_DISTANCE_SCALE = 0.25;
+    private static final int CROWD_SIZE = 8;            // viewers before counts start scaling down
+
+    private final EntitySpatialIndex entityIndex;
+    private final SettingsManager settings;
+
+    private final Map<UUID, Map<Long, int[]>> chunkSpent = new HashMap<>(); // world -> chunk -> spent
+    private final Set<SoundKey> soundsThisTick = new HashSet<>();
+    private final List<Player> viewers = new ArrayList<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private int tickSpent;
+    private int currentTick = -1;
+
+    private record SoundKey(UUID world, Sound sound, int x, int y, int z, float pitch) {}
+
+    public EffectEmitter(EntitySpatialIndex entityIndex, SettingsManager settings) {
+        this.entityIndex = entityIndex;
+        this.settings = settings;
+    }
+
+    // ------------------------------
+    // Particles
+    // ------------------------------
+
+    public void particle(Particle particle, Location location, int count,
+                         double offsetX, double offsetY, double offsetZ, double extra) {
+        particle(particle, location, count, offsetX, offsetY, offsetZ, extra, null);
+    }
+
+    /**
+     * Spawn a particle burst for nearby players, within budget.
+     * A count of 0 (a single directional particle) is never scaled.
+     */
+    public <T> void particle(Particle particle, Location location, int count,
+                             double offsetX, double offsetY, double offsetZ, double extra, T data) {
+        World world = location.getWorld();
+        if (world == null) return;
+        rollTick();
+
+        double x = location.getX(), y = location.getY(), z = location.getZ();
+        int viewerCount = entityIndex.playersWithin(world, x, y, z, VIEW_RADIUS, viewers);
+        if (viewerCount == 0) return;
+
+        PluginSettings.SpellSettings budgets = settings.get().spells();
+        int tickBudget = budgets.particleTickBudget();
+        int chunkBudget = budgets.particleChunkBudget();
+        int[] chunk = chunkSpent.computeIfAbsent(world.getUID(), k -> new HashMap<>())
+                .computeIfAbsent(chunkKey(x, z), k -> new int[1]);
+        double crowdScale = viewerCount > CROWD_SIZE ? (double) CROWD_SIZE / viewerCount : 1.0;
+
+        for (int i = 0; i < viewerCount; i++) {
+            Player viewer = viewers.get(i);
+            int sent = count;
+
+            if (count > 0) {
+                viewer.getLocation(scratch);
+                double distance = Math.sqrt(distanceSquared(scratch, x, y, z));
+                sent = (int) Math.round(count * distanceScale(distance) * crowdScale);
+                if (sent == 0) continue; // too far or too crowded to matter for this viewer
+
+                int remaining = Math.min(tickBudget - tickSpent, chunkBudget - chunk[0]);
+                if (remaining <= 0) break;
+                sent = Math.min(sent, remaining);
+            } else if (tickSpent >= tickBudget || chunk[0] >= chunkBudget) {
+                break;
+            }
+
+            viewer.spawnParticle(particle, x, y, z, sent, offsetX, offsetY, offsetZ, extra, data);
+            int charged = Math.max(1, sent);
+            tickSpent += charged;
+            chunk[0] += charged;
+        }
+        viewers.clear();
+    }
+
+    // ------------------------------
+    // Sounds
+    // ------------------------------
+
+    /**
+     * Play a sound at a location unless the same sound was already played
+     * at that block with the same pitch this tick.
+     */
+    public void sound(Location location, Sound sound, float volume, float pitch) {
+        World world = location.getWorld();
+        if (world == null) return;
+        rollTick();
+
+        SoundKey key = new SoundKey(world.getUID(), sound,
+                location.getBlockX(), location.getBlockY(), location.getBlockZ(), pitch);
+        if (!soundsThisTick.add(key)) return;
+
+        world.playSound(location, sound, volume, pitch);
+    }
+
+    // ------------------------------
+    // Internals
+    // ------------------------------
+
+    private void rollTick() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick == currentTick) return;
+
+        currentTick = tick;
+        tickSpent = 0;
+        chunkSpent.clear();
+        soundsThisTick.clear();
+    }
+
+    /**
+     * 1.0 up to FULL_DETAIL_RADIUS, falling linearly to MIN_DISTANCE_SCALE at VIEW_RADIUS.
+     */
+    private static double distanceScale(double distance) {
+        if (distance <= FULL_DETAIL_RADIUS) return 1.0;
+        double t = (distance - FULL_DETAIL_RADIUS) / (VIEW_RADIUS - FULL_DETAIL_RADIUS);
+        return 1.0 - Math.min(1.0, t) * (1.0 - MIN_DISTANCE_SCALE);
+    }
+
+    private static double distanceSquared(Location from, double x, double y, double z) {
+        double dx = from.getX() - x;
+        double dy = from.getY() - y;
+        double dz = from.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long chunkKey(double x, double z) {
+        long chunkX = ((int) Math.floor(x)) >> 4;
+        long chunkZ = ((int) Math.floor(z)) >> 4;
+        return (chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
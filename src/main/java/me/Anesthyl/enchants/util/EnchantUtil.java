@@ -19,7 +19,7 @@ import java.util.Map;
  * - Central utility for applying and displaying custom enchants.
  * - Enforces global compatibility rules (Vein Miner ↔ Excavator).
  * - Responsible for:
- *   - Writing enchant data to PDC
+ *   - Writing enchant data (and the capability mask) to PDC
  *   - Updating item lore to reflect current enchants
  * - Used by:
  *   - Commands
@@ -64,6 +64,7 @@ public class EnchantUtil {
         // Apply enchant level to PDC
         meta.getPersistentDataContainer()
                 .set(enchant.getKey(), PersistentDataType.INTEGER, level);
+        enchantManager.updateCapabilities(meta);
 
         item.setItemMeta(meta);
 
@@ -0,0 +1,350 @@
+package me.Anesthyl.enchants.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.util.Vector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Living entities bucketed by chunk, shared by AoE code.
+ *
+ * Dev Notes:
+ * - Only chunks a sphere or cone query touches are read, each at most once
+ *   per tick (chunk.getEntities() on first touch). The buckets are dropped
+ *   on the first query of the next tick. Positions are captured when the
+ *   chunk is read.
+ * - Unloaded chunks are skipped; queries never load chunks.
+ * - Player queries only snapshot world.getPlayers() and never touch the
+ *   chunk buckets.
+ * - Buckets live in an open-addressing table keyed by the packed chunk
+ *   position, so lookups don't box Long keys. Buckets are pooled and reused.
+ * - Queries write into a caller-owned list (cleared first) and never
+ *   allocate beyond growing that list. Give each call site its own
+ *   buffer: a query made while iterating another call site's results
+ *   (e.g. from a damage event) must not reuse the same list.
+ * - Entities removed later in the same tick are filtered out with
+ *   isValid(), so callers never see dead entities.
+ */
+public class EntitySpatialIndex implements Listener {
+
+    private final Map<UUID, WorldIndex> worlds = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Living entities of one chunk, with positions in parallel arrays.
+     */
+    private static final class Bucket {
+        LivingEntity[] entities = new LivingEntity[8];
+        double[] xs = new double[8];
+        double[] ys = new double[8];
+        double[] zs = new double[8];
+        int size;
+
+        void add(LivingEntity entity, double x, double y, double z) {
+            if (size == entities.length) {
+                int capacity = size * 2;
+                entities = Arrays.copyOf(entities, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                zs = Arrays.copyOf(zs, capacity);
+            }
+            entities[size] = entity;
+            xs[size] = x;
+            ys[size] = y;
+            zs[size] = z;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(entities, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Chunk key -> Bucket, linear probing. Cleared (buckets back to the
+     * pool) on the first query of each tick.
+     */
+    private static final class ChunkTable {
+        long[] keys = new long[64];
+        Bucket[] buckets = new Bucket[64];
+        Bucket[] pool = new Bucket[16];
+        int poolSize;
+        int size;
+
+        Bucket get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); buckets[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return buckets[slot];
+            }
+            return null;
+        }
+
+        Bucket getOrCreate(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            for (; buckets[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return buckets[slot];
+            }
+
+            Bucket bucket = poolSize > 0 ? pool[--poolSize] : new Bucket();
+            pool[poolSize] = null;
+            keys[slot] = key;
+            buckets[slot] = bucket;
+            if (++size * 2 > keys.length) grow();
+            return bucket;
+        }
+
+        void clear() {
+            for (int i = 0; i < buckets.length; i++) {
+                Bucket bucket = buckets[i];
+                if (bucket == null) continue;
+                bucket.clear();
+                if (poolSize == pool.length) pool = Arrays.copyOf(pool, poolSize * 2);
+                pool[poolSize++] = bucket;
+                buckets[i] = null;
+            }
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Bucket[] oldBuckets = buckets;
+            keys = new long[oldKeys.length * 2];
+            buckets = new Bucket[oldBuckets.length * 2];
+            int mask = keys.length - 1;
+
+            for (int i = 0; i < oldBuckets.length; i++) {
+                if (oldBuckets[i] == null) continue;
+                int slot = slot(oldKeys[i], mask);
+                while (buckets[slot] != null) slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    private static final class WorldIndex {
+        final ChunkTable chunks = new ChunkTable();
+        int chunksTick = -1;
+        Player[] players = new Player[0];
+        int playerCount;
+        int playersTick = -1;
+    }
+
+    // ------------------------------
+    // Queries
+    // ------------------------------
+
+    /**
+     * Living entities whose position is within radius of (x, y, z).
+     * Returns the number found.
+     */
+    public int querySphere(World world, double x, double y, double z, double radius, List<LivingEntity> out) {
+        out.clear();
+        WorldIndex index = chunks(world);
+        double radiusSq = radius * radius;
+
+        int minX = floorChunk(x - radius), maxX = floorChunk(x + radius);
+        int minZ = floorChunk(z - radius), maxZ = floorChunk(z + radius);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                Bucket bucket = chunk(world, index, cx, cz);
+                if (bucket == null) continue;
+
+                for (int i = 0; i < bucket.size; i++) {
+                    double dx = bucket.xs[i] - x;
+                    double dy = bucket.ys[i] - y;
+                    double dz = bucket.zs[i] - z;
+                    if (dx * dx + dy * dy + dz * dz > radiusSq) continue;
+
+                    LivingEntity entity = bucket.entities[i];
+                    if (entity.isValid()) out.add(entity);
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Living entities within range of apex and inside the cone around
+     * direction (must be normalized) with the given half angle in degrees.
+     * Returns the number found.
+     */
+    public int queryCone(World world, Location apex, Vector direction, double range, double halfAngle,
+                         List<LivingEntity> out) {
+        out.clear();
+        WorldIndex index = chunks(world);
+        double ax = apex.getX(), ay = apex.getY(), az = apex.getZ();
+        double dirX = direction.getX(), dirY = direction.getY(), dirZ = direction.getZ();
+        double rangeSq = range * range;
+        double cos = Math.cos(Math.toRadians(halfAngle));
+        double cosSq = cos * cos;
+
+        int minX = floorChunk(ax - range), maxX = floorChunk(ax + range);
+        int minZ = floorChunk(az - range), maxZ = floorChunk(az + range);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                Bucket bucket = chunk(world, index, cx, cz);
+                if (bucket == null) continue;
+
+                for (int i = 0; i < bucket.size; i++) {
+                    double dx = bucket.xs[i] - ax;
+                    double dy = bucket.ys[i] - ay;
+                    double dz = bucket.zs[i] - az;
+                    double distSq = dx * dx + dy * dy + dz * dz;
+                    if (distSq > rangeSq) continue;
+
+                    // Inside the cone when the angle to the axis is within halfAngle
+                    double dot = dx * dirX + dy * dirY + dz * dirZ;
+                    if (dot < 0 || dot * dot < cosSq * distSq) continue;
+
+                    LivingEntity entity = bucket.entities[i];
+                    if (entity.isValid()) out.add(entity);
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * The closest player within radius of (x, y, z), or null.
+     */
+    public Player nearestPlayer(World world, double x, double y, double z, double radius) {
+        WorldIndex index = players(world);
+        Player nearest = null;
+        double bestSq = radius * radius;
+
+        for (int i = 0; i < index.playerCount; i++) {
+            Player player = index.players[i];
+            if (!player.isValid()) continue;
+            player.getLocation(scratch);
+            double dx = scratch.getX() - x;
+            double dy = scratch.getY() - y;
+            double dz = scratch.getZ() - z;
+            double distSq = dx * dx + dy * dy + dz * dz;
+            if (distSq <= bestSq) {
+                bestSq = distSq;
+                nearest = player;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Players within radius of (x, y, z). Returns the number found.
+     */
+    public int playersWithin(World world, double x, double y, double z, double radius, List<Player> out) {
+        out.clear();
+        WorldIndex index = players(world);
+        double radiusSq = radius * radius;
+
+        for (int i = 0; i < index.playerCount; i++) {
+            Player player = index.players[i];
+            if (!player.isValid()) continue;
+            player.getLocation(scratch);
+            double dx = scratch.getX() - x;
+            double dy = scratch.getY() - y;
+            double dz = scratch.getZ() - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSq) out.add(player);
+        }
+        return out.size();
+    }
+
+    /**
+     * True if any player is within radius of (x, y, z).
+     */
+    public boolean anyPlayerWithin(World world, double x, double y, double z, double radius) {
+        return nearestPlayer(world, x, y, z, radius) != null;
+    }
+
+    // ------------------------------
+    // Index Maintenance
+    // ------------------------------
+
+    private WorldIndex chunks(World world) {
+        WorldIndex index = worlds.computeIfAbsent(world.getUID(), k -> new WorldIndex());
+        int tick = Bukkit.getCurrentTick();
+        if (index.chunksTick != tick) {
+            index.chunks.clear();
+            index.chunksTick = tick;
+        }
+        return index;
+    }
+
+    private WorldIndex players(World world) {
+        WorldIndex index = worlds.computeIfAbsent(world.getUID(), k -> new WorldIndex());
+        int tick = Bukkit.getCurrentTick();
+        if (index.playersTick != tick) {
+            snapshotPlayers(world, index);
+            index.playersTick = tick;
+        }
+        return index;
+    }
+
+    /**
+     * The bucket for chunk (cx, cz), read from the chunk on first touch this
+     * tick. Null if the chunk isn't loaded.
+     */
+    private Bucket chunk(World world, WorldIndex index, int cx, int cz) {
+        long key = key(cx, cz);
+        Bucket bucket = index.chunks.get(key);
+        if (bucket != null) return bucket;
+        if (!world.isChunkLoaded(cx, cz)) return null;
+
+        // An empty bucket still marks the chunk as read for this tick
+        bucket = index.chunks.getOrCreate(key);
+        for (Entity entity : world.getChunkAt(cx, cz).getEntities()) {
+            if (!(entity instanceof LivingEntity living)) continue;
+            living.getLocation(scratch);
+            bucket.add(living, scratch.getX(), scratch.getY(), scratch.getZ());
+        }
+        return bucket;
+    }
+
+    private void snapshotPlayers(World world, WorldIndex index) {
+        // Copy by count instead of toArray(array): toArray nulls the slot after
+        // the last element when the array is larger than the list
+        List<Player> players = world.getPlayers();
+        Arrays.fill(index.players, 0, index.playerCount, null);
+        if (players.size() > index.players.length) {
+            index.players = new Player[players.size()];
+        }
+        for (int i = 0; i < players.size(); i++) {
+            index.players[i] = players.get(i);
+        }
+        index.playerCount = players.size();
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    private static int floorChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,83 @@
+package me.Anesthyl.enchants.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Item counts of an inventory, indexed by Material.ordinal().
+ *
+ * Dev Notes:
+ * - scan() reads the inventory once; count() and hasAll() are array reads
+ *   after that. Instances are reusable: scan() resets the counts.
+ * - consume() checks every requirement before removing anything, so a
+ *   purchase either takes all of its materials or none.
+ * - Main thread only, like the inventories it reads.
+ */
+public class InventoryHistogram {
+
+    private final int[] counts = new int[Material.values().length];
+
+    /**
+     * Count every item in the inventory, replacing the previous counts.
+     */
+    public InventoryHistogram scan(Inventory inventory) {
+        Arrays.fill(counts, 0);
+        for (ItemStack item : inventory.getContents()) {
+            if (item != null) counts[item.getType().ordinal()] += item.getAmount();
+        }
+        return this;
+    }
+
+    public int count(Material material) {
+        return counts[material.ordinal()];
+    }
+
+    /**
+     * True if the scanned inventory holds at least the amount of each stack.
+     */
+    public boolean hasAll(List<ItemStack> required) {
+        for (ItemStack stack : required) {
+            if (counts[stack.getType().ordinal()] < stack.getAmount()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove all required stacks from the inventory in one pass, or nothing
+     * if any is missing. The inventory must be the one last scanned.
+     */
+    public boolean consume(Inventory inventory, List<ItemStack> required) {
+        if (!hasAll(required)) return false;
+
+        int[] remaining = new int[required.size()];
+        int outstanding = 0;
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = required.get(i).getAmount();
+            outstanding += remaining[i];
+        }
+
+        ItemStack[] contents = inventory.getContents();
+        for (int slot = 0; slot < contents.length && outstanding > 0; slot++) {
+            ItemStack item = contents[slot];
+            if (item == null) continue;
+
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] == 0 || required.get(i).getType() != item.getType()) continue;
+
+                int taken = Math.min(remaining[i], item.getAmount());
+                remaining[i] -= taken;
+                outstanding -= taken;
+                counts[item.getType().ordinal()] -= taken;
+
+                item.setAmount(item.getAmount() - taken);
+                inventory.setItem(slot, item.getAmount() > 0 ? item : null);
+                break;
+            }
+        }
+        return true;
+    }
+}
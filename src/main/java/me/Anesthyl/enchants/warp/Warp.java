@@ -0,0 +1,33 @@
+package me.Anesthyl.enchants.warp;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.UUID;
+
+/**
+ * Immutable warp position.
+ *
+ * Dev Notes:
+ * - Holds the world by UUID and name instead of a World handle, so a warp
+ *   can exist while its world is unloaded (or not loaded yet at startup).
+ * - The UUID may be null for warps migrated from the old warps.yml; those
+ *   resolve by name only.
+ * - Resolve through WarpManager, which caches the World per world name.
+ */
+public record Warp(UUID worldId, String worldName, double x, double y, double z, float yaw, float pitch) {
+
+    public static Warp of(Location location) {
+        World world = location.getWorld();
+        return new Warp(world.getUID(), world.getName(),
+                location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Build a Location in the given (already resolved) world.
+     */
+    public Location toLocation(World world) {
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+}
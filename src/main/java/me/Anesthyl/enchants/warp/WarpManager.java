@@ -2,152 +2,473 @@ package me.Anesthyl.enchants.warp;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Manages player warps - each player can create their own named warps.
+ * Manages player warps - each player can create their own named warps -
+ * plus a server-wide namespace of public warps.
+ *
+ * Dev Notes:
+ * - Warps are loaded lazily per player (pre-login, off the main thread)
+ *   and dropped from memory on quit. Public warps are loaded at enable.
+ *   Pre-login data is discarded if the login is denied or no join claims
+ *   it within a minute. Sets and deletes made before the stored warps
+ *   arrive win over the stored copy.
+ * - A failed read leaves the owner unloaded (so nothing is snapshotted over
+ *   the unreadable file) and is retried with the periodic snapshot.
+ * - Every change is journaled through WarpStore on its I/O thread; the
+ *   main thread never writes files.
+ * - Snapshots are taken when a journal grows large, periodically for
+ *   owners with unsaved changes, and on quit.
+ * - Warps are stored as Warp records and resolved to a Location on demand.
+ *   A per-world index caches one World handle for all warps in that world;
+ *   unloading the world clears it in one step and the next lookup after
+ *   the world comes back restores it.
+ * - Each owner keeps a WarpNameIndex next to its map, updated by set and
+ *   delete, so tab completion only copies the matching names.
  */
-public class WarpManager {
+public class WarpManager implements Listener {
+    private static final int JOURNAL_COMPACT_THRESHOLD = 64;
+    private static final long SNAPSHOT_INTERVAL = 6000L; // 5 minutes in ticks
+    private static final String PUBLIC_OWNER = "public";
+    private static final long PRELOAD_TTL_MILLIS = 60_000L; // pre-login data unclaimed by a join
+
     private final JavaPlugin plugin;
-    private final File warpsFile;
-    private FileConfiguration warpsConfig;
+    private final WarpStore store;
+
+    // Map of UUID -> that player's warps (online players only)
+    private final Map<UUID, WarpSet> playerWarps = new HashMap<>();
+
+    // Server-wide warps anyone can use
+    private final WarpSet publicWarps = new WarpSet(PUBLIC_OWNER);
+
+    // Map of world name -> cached world handle for every loaded warp in it
+    private final Map<String, WorldSlot> worlds = new HashMap<>();
+
+    // Warps read during pre-login, waiting for the player to join
+    private final Map<UUID, Preloaded> preloaded = new ConcurrentHashMap<>();
+
+    public enum DeleteResult {
+        DELETED,
+        NOT_FOUND,
+        QUEUED      // warps still loading; applied to the stored warps once they arrive
+    }
+
+    private record Preloaded(Map<String, Warp> entries, long loadedAt) {}
 
-    // Map of UUID -> Map of warp name -> Location
-    private final Map<UUID, Map<String, Location>> playerWarps = new HashMap<>();
+    // Owners whose stored warps couldn't be read; retried with the periodic snapshot
+    private final Set<String> failedLoads = new HashSet<>();
+
+    /**
+     * Warps of one owner (a player or the public namespace).
+     */
+    private static final class WarpSet {
+        final String owner;
+        final Map<String, Warp> warps = new HashMap<>();
+        final WarpNameIndex names = new WarpNameIndex();
+        final Set<String> deletedBeforeLoad = new HashSet<>(); // dropped from the stored warps on adopt
+        int journaled;   // journal lines since the last snapshot
+        boolean loaded;  // false until the stored warps have been merged in
+
+        WarpSet(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * One entry of the per-world index.
+     */
+    private static final class WorldSlot {
+        World world;   // null until resolved, or while the world is unloaded
+        int warps;     // loaded warps in this world; the slot is dropped at zero
+    }
 
     public WarpManager(JavaPlugin plugin) {
         this.plugin = plugin;
-        this.warpsFile = new File(plugin.getDataFolder(), "warps.yml");
-        loadWarps();
+        this.store = new WarpStore(plugin);
+
+        File legacyFile = new File(plugin.getDataFolder(), "warps.yml");
+        if (legacyFile.exists()) {
+            store.migrateLegacy(legacyFile);
+        }
+
+        loadPublic();
+
+        // Players already online (plugin reload) never pass pre-login
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadAsync(player.getUniqueId());
+        }
+
+        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            snapshotDirty();
+            evictStalePreloads();
+            retryFailedLoads();
+        }, SNAPSHOT_INTERVAL, SNAPSHOT_INTERVAL);
     }
 
     /**
      * Sets a warp for a player at their current location.
      */
     public void setWarp(UUID playerUUID, String warpName, Location location) {
-        Map<String, Location> warps = playerWarps.computeIfAbsent(playerUUID, k -> new HashMap<>());
-        warps.put(warpName.toLowerCase(), location);
-        saveWarps();
+        set(playerWarps.computeIfAbsent(playerUUID, k -> new WarpSet(k.toString())), warpName, location);
     }
 
     /**
-     * Gets a warp location for a player.
+     * Gets a warp for a player, or null if they have none by that name.
      */
-    public Location getWarp(UUID playerUUID, String warpName) {
-        Map<String, Location> warps = playerWarps.get(playerUUID);
-        if (warps == null) return null;
-        return warps.get(warpName.toLowerCase());
+    public Warp getWarp(UUID playerUUID, String warpName) {
+        WarpSet set = playerWarps.get(playerUUID);
+        if (set == null) return null;
+        return set.warps.get(warpName.toLowerCase());
     }
 
     /**
-     * Deletes a warp for a player.
+     * Deletes a warp for a player. While their warps are still loading the
+     * delete is queued and applied to the loaded warps.
      */
-    public boolean deleteWarp(UUID playerUUID, String warpName) {
-        Map<String, Location> warps = playerWarps.get(playerUUID);
-        if (warps == null) return false;
-
-        boolean removed = warps.remove(warpName.toLowerCase()) != null;
-        if (removed) {
-            saveWarps();
-        }
-        return removed;
+    public DeleteResult deleteWarp(UUID playerUUID, String warpName) {
+        return delete(playerWarps.computeIfAbsent(playerUUID, k -> new WarpSet(k.toString())), warpName);
     }
 
     /**
-     * Gets all warp names for a player.
+     * Gets all warp names for a player, sorted. Read-only.
      */
-    public Set<String> getPlayerWarps(UUID playerUUID) {
-        Map<String, Location> warps = playerWarps.get(playerUUID);
-        if (warps == null) return new HashSet<>();
-        return new HashSet<>(warps.keySet());
+    public List<String> getPlayerWarps(UUID playerUUID) {
+        WarpSet set = playerWarps.get(playerUUID);
+        if (set == null) return List.of();
+        return set.names.complete("");
     }
 
     /**
      * Checks if a player has a specific warp.
      */
     public boolean hasWarp(UUID playerUUID, String warpName) {
-        Map<String, Location> warps = playerWarps.get(playerUUID);
-        if (warps == null) return false;
-        return warps.containsKey(warpName.toLowerCase());
+        WarpSet set = playerWarps.get(playerUUID);
+        if (set == null) return false;
+        return set.warps.containsKey(warpName.toLowerCase());
     }
 
     /**
-     * Loads warps from the warps.yml file.
+     * Sets a public warp.
      */
-    private void loadWarps() {
-        if (!warpsFile.exists()) {
-            plugin.getDataFolder().mkdirs();
-            try {
-                warpsFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().warning("Failed to create warps.yml: " + e.getMessage());
+    public void setPublicWarp(String warpName, Location location) {
+        set(publicWarps, warpName, location);
+    }
+
+    /**
+     * Gets a public warp, or null if there is none by that name.
+     */
+    public Warp getPublicWarp(String warpName) {
+        return publicWarps.warps.get(warpName.toLowerCase());
+    }
+
+    /**
+     * Deletes a public warp (queued while public warps are still loading).
+     */
+    public DeleteResult deletePublicWarp(String warpName) {
+        return delete(publicWarps, warpName);
+    }
+
+    /**
+     * Gets all public warp names, sorted. Read-only.
+     */
+    public List<String> getPublicWarps() {
+        return publicWarps.names.complete("");
+    }
+
+    /**
+     * Warp names starting with prefix from the player's own and (optionally)
+     * public warps, sorted, each name once. Returns a new mutable list, as
+     * tab completers may sort or filter the result in place.
+     */
+    public List<String> completeWarps(UUID playerUUID, String prefix, boolean includePublic) {
+        String key = prefix.toLowerCase();
+        WarpSet set = playerWarps.get(playerUUID);
+        List<String> own = set != null ? set.names.complete(key) : List.of();
+        List<String> shared = includePublic ? publicWarps.names.complete(key) : List.of();
+
+        // Both index views are sorted: merge them, keeping a name shared by both once
+        List<String> merged = new ArrayList<>(own.size() + shared.size());
+        int i = 0, j = 0;
+        while (i < own.size() || j < shared.size()) {
+            if (j == shared.size()) {
+                merged.add(own.get(i++));
+            } else if (i == own.size()) {
+                merged.add(shared.get(j++));
+            } else {
+                int order = own.get(i).compareTo(shared.get(j));
+                if (order <= 0) {
+                    merged.add(own.get(i++));
+                    if (order == 0) j++;
+                } else {
+                    merged.add(shared.get(j++));
+                }
             }
         }
+        return merged;
+    }
 
-        warpsConfig = YamlConfiguration.loadConfiguration(warpsFile);
+    /**
+     * Resolve a warp to a Location, or null if its world is not loaded.
+     */
+    public Location resolve(Warp warp) {
+        WorldSlot slot = worlds.get(warp.worldName());
+        World world = slot != null ? slot.world : null;
 
-        // Load all player warps
-        for (String uuidString : warpsConfig.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidString);
-                Map<String, Location> warps = new HashMap<>();
+        if (world == null) {
+            if (warp.worldId() != null) world = Bukkit.getWorld(warp.worldId());
+            if (world == null) world = Bukkit.getWorld(warp.worldName());
+            if (world == null) return null;
+            if (slot != null) slot.world = world;
+        }
 
-                for (String warpName : warpsConfig.getConfigurationSection(uuidString).getKeys(false)) {
-                    String path = uuidString + "." + warpName;
+        return warp.toLocation(world);
+    }
 
-                    String worldName = warpsConfig.getString(path + ".world");
-                    double x = warpsConfig.getDouble(path + ".x");
-                    double y = warpsConfig.getDouble(path + ".y");
-                    double z = warpsConfig.getDouble(path + ".z");
-                    float yaw = (float) warpsConfig.getDouble(path + ".yaw");
-                    float pitch = (float) warpsConfig.getDouble(path + ".pitch");
+    private void set(WarpSet set, String warpName, Location location) {
+        String name = warpName.toLowerCase();
+        Warp warp = Warp.of(location);
 
-                    Location location = new Location(Bukkit.getWorld(worldName), x, y, z, yaw, pitch);
-                    warps.put(warpName, location);
-                }
+        set.deletedBeforeLoad.remove(name); // the new warp replaces the stored one anyway
+        Warp previous = set.warps.put(name, warp);
+        if (previous != null) {
+            unindex(previous);
+        } else {
+            set.names.insert(name);
+        }
+        index(warp);
+
+        store.appendSet(set.owner, name, warp);
+        journaled(set);
+    }
+
+    private DeleteResult delete(WarpSet set, String warpName) {
+        String name = warpName.toLowerCase();
+        // Not loaded yet: the stored copy may still have it, so drop it on adopt
+        if (!set.loaded) set.deletedBeforeLoad.add(name);
+
+        Warp removed = set.warps.remove(name);
+        if (removed == null) {
+            return set.loaded ? DeleteResult.NOT_FOUND : DeleteResult.QUEUED;
+        }
+
+        set.names.remove(name);
+        unindex(removed);
+        store.appendDelete(set.owner, name);
+        journaled(set);
+        return DeleteResult.DELETED;
+    }
+
+    // ==============================
+    // Lazy Loading
+    // ==============================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        // Already off the main thread - wait for the I/O thread so the data is ready at join
+        try {
+            Map<String, Warp> entries = store.load(event.getUniqueId().toString()).get(5, TimeUnit.SECONDS);
+            preloaded.put(event.getUniqueId(), new Preloaded(entries, System.currentTimeMillis()));
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to preload warps for " + event.getName() + ": " + e.getMessage());
+        }
+    }
 
-                playerWarps.put(uuid, warps);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load warps for " + uuidString + ": " + e.getMessage());
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        // Denied after pre-login (server full, whitelist, ...) - the player never joins
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            preloaded.remove(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        Preloaded entries = preloaded.remove(uuid);
+
+        if (entries != null) {
+            adopt(playerWarps.computeIfAbsent(uuid, k -> new WarpSet(k.toString())), entries.entries());
+        } else {
+            loadAsync(uuid);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        WarpSet set = playerWarps.remove(uuid);
+        if (set != null) {
+            if (set.journaled > 0) {
+                snapshot(set);
+            }
+            for (Warp warp : set.warps.values()) {
+                unindex(warp);
             }
         }
+        preloaded.remove(uuid);
+        failedLoads.remove(uuid.toString());
+    }
 
-        plugin.getLogger().info("Loaded warps for " + playerWarps.size() + " players");
+    /**
+     * Load on the I/O thread and hand the result back to the main thread.
+     */
+    private void loadAsync(UUID uuid) {
+        store.load(uuid.toString()).whenComplete((entries, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (Bukkit.getPlayer(uuid) == null) return;
+                    if (error != null) {
+                        loadFailed(uuid.toString(), error);
+                    } else {
+                        adopt(playerWarps.computeIfAbsent(uuid, k -> new WarpSet(k.toString())), entries);
+                    }
+                }));
+    }
+
+    private void loadPublic() {
+        store.load(PUBLIC_OWNER).whenComplete((entries, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        loadFailed(PUBLIC_OWNER, error);
+                    } else {
+                        adopt(publicWarps, entries);
+                    }
+                }));
     }
 
     /**
-     * Saves all warps to the warps.yml file.
+     * The set stays unloaded (never snapshotted over the file) until a retry succeeds.
      */
-    private void saveWarps() {
-        warpsConfig = new YamlConfiguration();
+    private void loadFailed(String owner, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        plugin.getLogger().warning("Failed to load warps for " + owner + ", will retry: " + cause.getMessage());
+        failedLoads.add(owner);
+    }
+
+    private void retryFailedLoads() {
+        if (failedLoads.isEmpty()) return;
 
-        for (Map.Entry<UUID, Map<String, Location>> entry : playerWarps.entrySet()) {
-            String uuidString = entry.getKey().toString();
+        List<String> owners = new ArrayList<>(failedLoads);
+        failedLoads.clear();
+        for (String owner : owners) {
+            if (owner.equals(PUBLIC_OWNER)) {
+                loadPublic();
+                continue;
+            }
+            UUID uuid = UUID.fromString(owner);
+            if (Bukkit.getPlayer(uuid) != null) loadAsync(uuid);
+        }
+    }
 
-            for (Map.Entry<String, Location> warpEntry : entry.getValue().entrySet()) {
-                String warpName = warpEntry.getKey();
-                Location loc = warpEntry.getValue();
+    /**
+     * Drop pre-login data no join claimed (the connection failed or was
+     * denied after pre-login without a login event reaching us).
+     */
+    private void evictStalePreloads() {
+        long cutoff = System.currentTimeMillis() - PRELOAD_TTL_MILLIS;
+        preloaded.values().removeIf(preload -> preload.loadedAt() < cutoff);
+    }
 
-                String path = uuidString + "." + warpName;
-                warpsConfig.set(path + ".world", loc.getWorld().getName());
-                warpsConfig.set(path + ".x", loc.getX());
-                warpsConfig.set(path + ".y", loc.getY());
-                warpsConfig.set(path + ".z", loc.getZ());
-                warpsConfig.set(path + ".yaw", loc.getYaw());
-                warpsConfig.set(path + ".pitch", loc.getPitch());
+    /**
+     * Install loaded warps without clobbering any set or delete made while
+     * the load was in flight.
+     */
+    private void adopt(WarpSet set, Map<String, Warp> entries) {
+        for (Map.Entry<String, Warp> entry : entries.entrySet()) {
+            if (set.deletedBeforeLoad.contains(entry.getKey())) {
+                // Queued delete of a stored warp - journal it now that we know it exists
+                store.appendDelete(set.owner, entry.getKey());
+                set.journaled++;
+                continue;
+            }
+            if (set.warps.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                set.names.insert(entry.getKey());
+                index(entry.getValue());
             }
         }
+        set.deletedBeforeLoad.clear();
+        set.loaded = true;
+    }
 
-        try {
-            warpsConfig.save(warpsFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save warps.yml: " + e.getMessage());
+    // ==============================
+    // Per-World Index
+    // ==============================
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        // Drop the handle for every warp in this world at once; resolve() restores it lazily
+        WorldSlot slot = worlds.get(event.getWorld().getName());
+        if (slot != null) {
+            slot.world = null;
+        }
+    }
+
+    private void index(Warp warp) {
+        worlds.computeIfAbsent(warp.worldName(), k -> new WorldSlot()).warps++;
+    }
+
+    private void unindex(Warp warp) {
+        WorldSlot slot = worlds.get(warp.worldName());
+        if (slot != null && --slot.warps <= 0) {
+            worlds.remove(warp.worldName());
+        }
+    }
+
+    // ==============================
+    // Persistence
+    // ==============================
+
+    private void journaled(WarpSet set) {
+        if (++set.journaled >= JOURNAL_COMPACT_THRESHOLD) {
+            snapshot(set);
         }
     }
+
+    private void snapshot(WarpSet set) {
+        // Until the stored warps are merged in, the journal is the only complete record
+        if (!set.loaded) return;
+
+        store.snapshot(set.owner, set.warps);
+        set.journaled = 0;
+    }
+
+    /**
+     * Periodic snapshot for owners with journaled changes.
+     */
+    private void snapshotDirty() {
+        if (publicWarps.journaled > 0) {
+            snapshot(publicWarps);
+        }
+        for (WarpSet set : playerWarps.values()) {
+            if (set.journaled > 0) {
+                snapshot(set);
+            }
+        }
+    }
+
+    /**
+     * Snapshot outstanding changes and wait for the I/O thread to finish.
+     */
+    public void shutdown() {
+        snapshotDirty();
+        store.shutdown();
+    }
 }
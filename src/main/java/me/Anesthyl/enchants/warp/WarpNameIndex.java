@@ -0,0 +1,114 @@
+package me.Anesthyl.enchants.warp;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Sorted warp names with prefix lookup for tab completion.
+ *
+ * Dev Notes:
+ * - Names are kept in a sorted array; insert/remove shift in place, which
+ *   is cheap at the sizes warps reach and only happens on /setwarp and
+ *   /delwarp.
+ * - complete() binary-searches the prefix range and returns a read-only
+ *   view over the array instead of copying. The view is only valid until
+ *   the next insert/remove, which is fine for a tab-complete response.
+ * - Names are expected in lower case (WarpManager normalizes them).
+ */
+public class WarpNameIndex {
+
+    private String[] names = new String[8];
+    private int size;
+
+    /**
+     * Add a name. Returns false if it was already present.
+     */
+    public boolean insert(String name) {
+        int index = Arrays.binarySearch(names, 0, size, name);
+        if (index >= 0) return false;
+
+        int at = -index - 1;
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        System.arraycopy(names, at, names, at + 1, size - at);
+        names[at] = name;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove a name. Returns false if it was not present.
+     */
+    public boolean remove(String name) {
+        int index = Arrays.binarySearch(names, 0, size, name);
+        if (index < 0) return false;
+
+        System.arraycopy(names, index + 1, names, index, size - index - 1);
+        names[--size] = null;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * All names starting with prefix, in sorted order. Read-only view.
+     */
+    public List<String> complete(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+
+        // Every match is contiguous from 'from', so scan forward with a second search
+        if (from < size && names[from].startsWith(prefix)) {
+            to = prefix.isEmpty() ? size : lowerBound(prefix + Character.MAX_VALUE);
+        }
+
+        return new Range(names, from, to);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (names[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Read-only window over the backing array.
+     */
+    private static final class Range extends AbstractList<String> implements RandomAccess {
+        private final String[] names;
+        private final int from;
+        private final int to;
+
+        Range(String[] names, int from, int to) {
+            this.names = names;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return names[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
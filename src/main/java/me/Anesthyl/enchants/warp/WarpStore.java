@@ -0,0 +1,301 @@
+package me.Anesthyl.enchants.warp;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental, off-thread persistence for warps.
+ *
+ * Layout (plugins/Enchants/warps/):
+ * - <owner>.yml  snapshot of every warp for one owner
+ * - <owner>.log  append-only journal of changes since that snapshot
+ *
+ * Dev Notes:
+ * - All file I/O runs on one background thread, so the writes for an owner
+ *   are applied in the order they were submitted.
+ * - Snapshots are written to a temp file and atomically moved over the old
+ *   one; the journal is deleted afterwards.
+ * - Loading replays the journal over the snapshot. Journal operations are
+ *   idempotent, so a crash between snapshot and journal delete loses nothing.
+ * - A snapshot or journal that can't be read fails the load instead of
+ *   loading as "no warps", so a later snapshot never overwrites the file.
+ */
+public class WarpStore {
+
+    private static final String SNAPSHOT_SUFFIX = ".yml";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private final JavaPlugin plugin;
+    private final Path directory;
+    private final ExecutorService io;
+
+    public WarpStore(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "warps").toPath();
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Enchants-WarpIO");
+            thread.setDaemon(true);
+            return thread;
+        });
+        io.execute(() -> {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to create warps folder: " + e.getMessage());
+            }
+        });
+    }
+
+    // ------------------------------
+    // Reads
+    // ------------------------------
+
+    /**
+     * Load every warp for an owner (snapshot + journal replay) on the I/O thread.
+     * Completes exceptionally if either file exists but can't be read.
+     */
+    public CompletableFuture<Map<String, Warp>> load(String owner) {
+        return CompletableFuture.supplyAsync(() -> readOwner(owner), io);
+    }
+
+    private Map<String, Warp> readOwner(String owner) {
+        Map<String, Warp> warps = new HashMap<>();
+
+        Path snapshot = directory.resolve(owner + SNAPSHOT_SUFFIX);
+        if (Files.exists(snapshot)) {
+            YamlConfiguration config = new YamlConfiguration();
+            try {
+                config.load(snapshot.toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + snapshot.getFileName(), e);
+            } catch (InvalidConfigurationException e) {
+                throw new IllegalStateException(snapshot.getFileName() + " is not valid YAML", e);
+            }
+
+            for (String name : config.getKeys(false)) {
+                ConfigurationSection section = config.getConfigurationSection(name);
+                if (section == null) continue;
+
+                warps.put(name, readWarp(section));
+            }
+        }
+
+        Path journal = directory.resolve(owner + JOURNAL_SUFFIX);
+        if (Files.exists(journal)) {
+            try {
+                for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                    replay(warps, line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + journal.getFileName(), e);
+            }
+        }
+
+        return warps;
+    }
+
+    private void replay(Map<String, Warp> warps, String line) {
+        String[] parts = line.split("\t");
+        try {
+            if (parts[0].equals("S") && parts.length == 9) {
+                warps.put(parts[1], new Warp(
+                        parts[2].equals("-") ? null : UUID.fromString(parts[2]),
+                        parts[3],
+                        Double.parseDouble(parts[4]),
+                        Double.parseDouble(parts[5]),
+                        Double.parseDouble(parts[6]),
+                        Float.parseFloat(parts[7]),
+                        Float.parseFloat(parts[8])
+                ));
+            } else if (parts[0].equals("S") && parts.length == 8) {
+                // Journal written before world UUIDs were recorded
+                warps.put(parts[1], new Warp(
+                        null,
+                        parts[2],
+                        Double.parseDouble(parts[3]),
+                        Double.parseDouble(parts[4]),
+                        Double.parseDouble(parts[5]),
+                        Float.parseFloat(parts[6]),
+                        Float.parseFloat(parts[7])
+                ));
+            } else if (parts[0].equals("D") && parts.length == 2) {
+                warps.remove(parts[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            // A torn last line after a crash - skip it
+            plugin.getLogger().warning("Skipping malformed warp journal line: " + line);
+        }
+    }
+
+    private Warp readWarp(ConfigurationSection section) {
+        String worldId = section.getString("world-uuid");
+        UUID uuid = null;
+        if (worldId != null) {
+            try {
+                uuid = UUID.fromString(worldId);
+            } catch (IllegalArgumentException ignored) {
+                // Fall back to resolving by name
+            }
+        }
+
+        return new Warp(
+                uuid,
+                section.getString("world"),
+                section.getDouble("x"),
+                section.getDouble("y"),
+                section.getDouble("z"),
+                (float) section.getDouble("yaw"),
+                (float) section.getDouble("pitch")
+        );
+    }
+
+    // ------------------------------
+    // Writes
+    // ------------------------------
+
+    /**
+     * Journal a created or moved warp.
+     */
+    public void appendSet(String owner, String name, Warp warp) {
+        String line = "S\t" + name
+                + "\t" + (warp.worldId() == null ? "-" : warp.worldId().toString())
+                + "\t" + warp.worldName()
+                + "\t" + warp.x() + "\t" + warp.y() + "\t" + warp.z()
+                + "\t" + warp.yaw() + "\t" + warp.pitch() + "\n";
+        io.execute(() -> append(owner, line));
+    }
+
+    /**
+     * Journal a deleted warp.
+     */
+    public void appendDelete(String owner, String name) {
+        String line = "D\t" + name + "\n";
+        io.execute(() -> append(owner, line));
+    }
+
+    private void append(String owner, String line) {
+        try {
+            Files.writeString(directory.resolve(owner + JOURNAL_SUFFIX), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to journal warp for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace an owner's snapshot with the given warps and clear their journal.
+     * The map is copied, so the caller may keep mutating it.
+     */
+    public void snapshot(String owner, Map<String, Warp> warps) {
+        Map<String, Warp> copy = Map.copyOf(warps);
+        io.execute(() -> writeSnapshot(owner, copy));
+    }
+
+    private void writeSnapshot(String owner, Map<String, Warp> warps) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, Warp> warp : warps.entrySet()) {
+            Warp value = warp.getValue();
+            ConfigurationSection section = config.createSection(warp.getKey());
+            section.set("world", value.worldName());
+            if (value.worldId() != null) {
+                section.set("world-uuid", value.worldId().toString());
+            }
+            section.set("x", value.x());
+            section.set("y", value.y());
+            section.set("z", value.z());
+            section.set("yaw", value.yaw());
+            section.set("pitch", value.pitch());
+        }
+
+        Path target = directory.resolve(owner + SNAPSHOT_SUFFIX);
+        Path temp = directory.resolve(owner + SNAPSHOT_SUFFIX + ".tmp");
+        try {
+            Files.writeString(temp, config.saveToString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.deleteIfExists(directory.resolve(owner + JOURNAL_SUFFIX));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write warp snapshot for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    // ------------------------------
+    // Lifecycle
+    // ------------------------------
+
+    /**
+     * Split the old single warps.yml into per-owner snapshots.
+     * Queued before any load, so lazy loads always see migrated data.
+     */
+    public void migrateLegacy(File legacyFile) {
+        io.execute(() -> {
+            YamlConfiguration legacy = YamlConfiguration.loadConfiguration(legacyFile);
+            int migrated = 0;
+
+            for (String owner : legacy.getKeys(false)) {
+                if (Files.exists(directory.resolve(owner + SNAPSHOT_SUFFIX))) continue;
+
+                Map<String, Warp> warps = new HashMap<>();
+                ConfigurationSection ownerSection = legacy.getConfigurationSection(owner);
+                if (ownerSection == null) continue;
+
+                for (String name : ownerSection.getKeys(false)) {
+                    ConfigurationSection section = ownerSection.getConfigurationSection(name);
+                    if (section == null) continue;
+
+                    warps.put(name, readWarp(section));
+                }
+
+                writeSnapshot(owner, warps);
+                migrated++;
+            }
+
+            try {
+                Files.move(legacyFile.toPath(), legacyFile.toPath().resolveSibling(legacyFile.getName() + ".migrated"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to rename legacy warps.yml: " + e.getMessage());
+            }
+
+            plugin.getLogger().info("Migrated warps for " + migrated + " players to the warps folder");
+        });
+    }
+
+    /**
+     * Finish all queued writes. Called on plugin disable.
+     */
+    public void shutdown() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(10, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = io.shutdownNow();
+                plugin.getLogger().warning("Warp I/O did not finish in time, " + dropped.size() + " writes dropped");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}